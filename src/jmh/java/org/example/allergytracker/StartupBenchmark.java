@@ -0,0 +1,140 @@
+package org.example.allergytracker;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Launches the application in a child JVM and times it up to the first answered request.
+// Run `./gradlew -Pcds cdsArchive jmhJar` first, then run the jar from the project root with a reachable database
+// (SPRING_DATASOURCE_* are passed through to the application).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+public class StartupBenchmark {
+
+  private static final Path BOOT_JAR_DIR = Path.of("build", "libs");
+  private static final Path CDS_DIR = Path.of("build", "cds");
+  private static final String CDS_ARCHIVE = "application.jsa";
+  // SecurityConfig.AUTH_REFRESH_PATH: permitted without a token and answered by AuthController, which rejects a request
+  // without a refresh cookie before touching the database. Only that 401 shows the whole web stack is up; a 404 or 403
+  // would come from a wrong path or the security filters.
+  private static final String FIRST_REQUEST_PATH = "/auth/refresh";
+  private static final int EXPECTED_STATUS = 401;
+  private static final long POLL_INTERVAL_MS = 10;
+  private static final long STARTUP_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(3);
+
+  @Param({"bootJar", "aotCds"})
+  private String launch;
+
+  private final HttpClient httpClient = HttpClient.newHttpClient();
+  private String jarName;
+  private Process process;
+
+  @Setup(Level.Trial)
+  public void findJar() throws IOException {
+    try (var files = Files.list(CDS_DIR)) {
+      jarName = files.map(path -> path.getFileName().toString())
+              .filter(name -> name.endsWith(".jar"))
+              .findFirst()
+              .orElseThrow(() -> new IllegalStateException("No extracted jar in " + CDS_DIR.toAbsolutePath()));
+    }
+    if (!Files.exists(CDS_DIR.resolve(CDS_ARCHIVE))) {
+      throw new IllegalStateException("No " + CDS_ARCHIVE + " in " + CDS_DIR.toAbsolutePath());
+    }
+  }
+
+  @Benchmark
+  public int firstRequest() throws Exception {
+    var port = freePort();
+    process = start(port);
+    var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + FIRST_REQUEST_PATH))
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build();
+    var deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MS;
+    while (true) {
+      int status;
+      try {
+        status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+      } catch (IOException e) {
+        if (!process.isAlive() || System.currentTimeMillis() > deadline) {
+          throw new IllegalStateException("Application did not answer, see " + logFile().getAbsolutePath(), e);
+        }
+        Thread.sleep(POLL_INTERVAL_MS);
+        continue;
+      }
+      if (status != EXPECTED_STATUS) {
+        throw new IllegalStateException("Expected " + EXPECTED_STATUS + " from " + FIRST_REQUEST_PATH + " but got " + status
+                + ", see " + logFile().getAbsolutePath());
+      }
+      return status;
+    }
+  }
+
+  @TearDown(Level.Iteration)
+  public void stop() throws Exception {
+    if (process == null) {
+      return;
+    }
+    System.out.printf("%n%s: RSS after first request %d MiB%n", launch, residentSetKiB(process.pid()) >> 10);
+    process.destroy();
+    process.waitFor(30, TimeUnit.SECONDS);
+    process = null;
+  }
+
+  private Process start(int port) throws IOException {
+    var java = ProcessHandle.current().info().command().orElse("java");
+    var command = new ArrayList<>(List.of(java));
+    if ("aotCds".equals(launch)) {
+      command.addAll(List.of(
+              "-XX:SharedArchiveFile=" + CDS_DIR.resolve(CDS_ARCHIVE).toAbsolutePath(),
+              "-Dspring.aot.enabled=true",
+              "-jar", CDS_DIR.resolve(jarName).toAbsolutePath().toString()));
+    } else {
+      command.addAll(List.of("-jar", BOOT_JAR_DIR.resolve(jarName).toAbsolutePath().toString()));
+    }
+    command.add("--server.port=" + port);
+    return new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(logFile())
+            .start();
+  }
+
+  private File logFile() {
+    return CDS_DIR.resolve("startup-benchmark-" + launch + ".log").toFile();
+  }
+
+  private static int freePort() throws IOException {
+    try (var socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  // Linux only; reports 0 where /proc is not available.
+  private static long residentSetKiB(long pid) throws IOException {
+    var status = Path.of("/proc", Long.toString(pid), "status");
+    if (!Files.exists(status)) {
+      return 0;
+    }
+    try (var lines = Files.lines(status)) {
+      return lines.filter(line -> line.startsWith("VmRSS:"))
+              .map(line -> line.replaceAll("\\D", ""))
+              .mapToLong(Long::parseLong)
+              .findFirst()
+              .orElse(0);
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package org.example.allergytracker.domain.auth.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.allergytracker.domain.auth.dto.LoginRequest;
+import org.example.allergytracker.domain.auth.validator.DefaultEmailValidator;
+import org.example.allergytracker.domain.user.model.User;
+import org.example.allergytracker.domain.user.repository.UserRepository;
+import org.example.allergytracker.exception.auth.InvalidCredentialsException;
+import org.example.allergytracker.id.UuidV7Generator;
+import org.example.allergytracker.security.BoundedPasswordEncoder;
+import org.example.allergytracker.security.DummyPasswordHash;
+import org.example.allergytracker.security.JwtTokenProvider;
+import org.example.allergytracker.security.PepperedPasswordEncoder;
+import org.example.allergytracker.security.cookie.DefaultCookieManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LoginTimingBenchmark {
+
+  private static final String SECRET = "benchmark-secret-key-for-jwt-tokens-must-be-at-least-256-bits-long";
+  private static final String KNOWN_EMAIL = "known@example.com";
+  private static final String UNKNOWN_EMAIL = "unknown@example.com";
+  private static final String WRONG_PASSWORD = "wrong-password";
+
+  private AuthService authService;
+  private BoundedPasswordEncoder passwordEncoder;
+  private LoginRequest knownEmailRequest;
+  private LoginRequest unknownEmailRequest;
+
+  @Setup
+  public void setUp() {
+    passwordEncoder = new BoundedPasswordEncoder(
+            new PepperedPasswordEncoder("benchmark-pepper"), 2, 32, Duration.ofSeconds(1), new SimpleMeterRegistry());
+    var user = new User(UUID.randomUUID(), KNOWN_EMAIL, passwordEncoder.encode("correct-password"));
+    var userRepository = mock(UserRepository.class);
+    when(userRepository.findByEmail(KNOWN_EMAIL)).thenReturn(Optional.of(user));
+    when(userRepository.findByEmail(UNKNOWN_EMAIL)).thenReturn(Optional.empty());
+
+    authService = new AuthService(
+            userRepository,
+            passwordEncoder,
+            new JwtTokenProvider(SECRET, 900000, 900000),
+            new DefaultCookieManager(),
+            new DefaultEmailValidator(),
+            (email, clientIp) -> { },
+            new DummyPasswordHash(passwordEncoder),
+            mock(RefreshTokenRevocations.class),
+            new UuidV7Generator()
+    );
+    knownEmailRequest = new LoginRequest(KNOWN_EMAIL, WRONG_PASSWORD);
+    unknownEmailRequest = new LoginRequest(UNKNOWN_EMAIL, WRONG_PASSWORD);
+  }
+
+  @TearDown
+  public void tearDown() {
+    passwordEncoder.close();
+  }
+
+  @Benchmark
+  public Object knownEmailWrongPassword() {
+    return login(knownEmailRequest);
+  }
+
+  @Benchmark
+  public Object unknownEmail() {
+    return login(unknownEmailRequest);
+  }
+
+  private Object login(LoginRequest request) {
+    try {
+      return authService.login(request, new MockHttpServletRequest(), new MockHttpServletResponse());
+    } catch (InvalidCredentialsException e) {
+      return e;
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package org.example.allergytracker.domain.entry.repository;
+
+import jakarta.persistence.EntityManager;
+import org.example.allergytracker.AllergyTrackerApplication;
+import org.example.allergytracker.domain.entry.controller.EntryDto;
+import org.example.allergytracker.domain.entry.controller.EntryMapper;
+import org.example.allergytracker.domain.entry.model.Entry;
+import org.example.allergytracker.id.UuidV7Generator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Reads one user's entries as GET /api/entries does, once through managed entities (the former page query) and once
+// through the EntryView projection. Needs a PostgreSQL database; connects with the same SPRING_DATASOURCE_* variables
+// as the application and migrates it. Run `./gradlew jmhRun -Pbenchmark=EntryPageBenchmark`; gc.alloc.rate.norm is
+// the allocation per page.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class EntryPageBenchmark {
+
+  private static final int ENTRY_COUNT = 10_000;
+  private static final int EXPOSURES_PER_ENTRY = 2;
+  private static final int BATCH_SIZE = 1000;
+  private static final Instant FIRST_OCCURRED_ON = Instant.parse("2020-01-01T08:00:00Z");
+  private static final Instant FROM = Instant.parse("1900-01-01T00:00:00Z");
+  private static final Instant TO = Instant.parse("9999-12-31T00:00:00Z");
+  private static final String ENTITY_PAGE_QUERY = """
+          select e from Entry e
+          where e.user.id = :userId and e.occurredOn >= :from and e.occurredOn < :to
+          order by e.occurredOn desc, e.id desc
+          """;
+
+  @Param({"500", "10000"})
+  private int pageSize;
+
+  private ConfigurableApplicationContext context;
+  private JdbcTemplate jdbcTemplate;
+  private EntityManager entityManager;
+  private EntryRepository entryRepository;
+  private TransactionTemplate readOnlyTransaction;
+  private UUID userId;
+  private List<UUID> exposureTypeIds;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = new SpringApplicationBuilder(AllergyTrackerApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties("spring.jpa.show-sql=false")
+            .run();
+    jdbcTemplate = context.getBean(JdbcTemplate.class);
+    entityManager = context.getBean(EntityManager.class);
+    entryRepository = context.getBean(EntryRepository.class);
+    readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    readOnlyTransaction.setReadOnly(true);
+    insertEntries();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    jdbcTemplate.update("DELETE FROM entry_exposure_types WHERE entry_id IN (SELECT id FROM entries WHERE user_id = ?)", userId);
+    jdbcTemplate.update("DELETE FROM entries WHERE user_id = ?", userId);
+    jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    jdbcTemplate.update("DELETE FROM exposure_types WHERE id IN (?, ?)", exposureTypeIds.get(0), exposureTypeIds.get(1));
+    context.close();
+  }
+
+  @Benchmark
+  public List<EntryDto> entities() {
+    return readOnlyTransaction.execute(status -> {
+      var entries = entityManager.createQuery(ENTITY_PAGE_QUERY, Entry.class)
+              .setParameter("userId", userId)
+              .setParameter("from", FROM)
+              .setParameter("to", TO)
+              .setMaxResults(pageSize)
+              .getResultList();
+      entryRepository.fetchExposureTypes(entries);
+      var page = entries.stream().map(EntryMapper::toDto).toList();
+      // The persistence context of a request ends with it.
+      entityManager.clear();
+      return page;
+    });
+  }
+
+  @Benchmark
+  public List<EntryDto> projection() {
+    return readOnlyTransaction.execute(status -> {
+      var entries = entryRepository.findFirstPage(userId, FROM, TO, Limit.of(pageSize));
+      var exposuresByEntryId = entryRepository.findExposureViews(entries.stream().map(EntryView::id).toList()).stream()
+              .collect(Collectors.groupingBy(
+                      EntryExposureView::entryId,
+                      Collectors.mapping(EntryExposureView::exposure, Collectors.toList())
+              ));
+      return entries.stream()
+              .map(entry -> EntryMapper.toDto(entry.withExposures(exposuresByEntryId.getOrDefault(entry.id(), List.of()))))
+              .toList();
+    });
+  }
+
+  private void insertEntries() {
+    var ids = new UuidV7Generator();
+    userId = ids.generateId();
+    jdbcTemplate.update("INSERT INTO users (id, email, password) VALUES (?, ?, ?)",
+            userId, "entry-page-benchmark-" + userId + "@example.com", "unused");
+    exposureTypeIds = List.of(ids.generateId(), ids.generateId());
+    for (var exposureTypeId : exposureTypeIds) {
+      jdbcTemplate.update("INSERT INTO exposure_types (id, value, description) VALUES (?, ?, ?)",
+              exposureTypeId, "benchmark-" + exposureTypeId, "Entry page benchmark");
+    }
+
+    var now = Timestamp.from(Instant.now());
+    var entries = new ArrayList<Object[]>();
+    var links = new ArrayList<Object[]>();
+    for (int i = 0; i < ENTRY_COUNT; i++) {
+      var entryId = ids.generateId();
+      var occurredOn = Timestamp.from(FIRST_OCCURRED_ON.plus(i, ChronoUnit.HOURS));
+      entries.add(new Object[]{entryId, userId, occurredOn, i % 6, (i + 1) % 6, (i + 2) % 6, (i + 3) % 6, "Note " + i, now, now});
+      for (int j = 0; j < EXPOSURES_PER_ENTRY; j++) {
+        links.add(new Object[]{entryId, exposureTypeIds.get(j)});
+      }
+    }
+    jdbcTemplate.batchUpdate("""
+            INSERT INTO entries (id, user_id, occurred_on, upper_respiratory_value, lower_respiratory_value,
+                                 skin_value, eyes_value, note_value, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """, entries, BATCH_SIZE, (statement, row) -> {
+      for (int k = 0; k < row.length; k++) {
+        statement.setObject(k + 1, row[k]);
+      }
+    });
+    jdbcTemplate.batchUpdate("INSERT INTO entry_exposure_types (entry_id, exposure_type_id) VALUES (?, ?)",
+            links, BATCH_SIZE, (statement, row) -> {
+              statement.setObject(1, row[0]);
+              statement.setObject(2, row[1]);
+            });
+    jdbcTemplate.execute("ANALYZE entries");
+    jdbcTemplate.execute("ANALYZE entry_exposure_types");
+  }
+}
@@ -0,0 +1,98 @@
+package org.example.allergytracker.id;
+
+import org.openjdk.jmh.annotations.*;
+import org.postgresql.ds.PGSimpleDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Needs a PostgreSQL database; connects with the same SPRING_DATASOURCE_* variables as the application.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class UuidKeyInsertBenchmark {
+
+  private static final String TABLE_NAME = "uuid_key_insert_benchmark";
+  private static final int BATCH_SIZE = 1000;
+
+  @Param({"random", "v7"})
+  private String keyKind;
+
+  @Param({"3000000"})
+  private int rows;
+
+  private Connection connection;
+  private Supplier<UUID> keys;
+
+  @Setup(Level.Trial)
+  public void connect() throws SQLException {
+    var dataSource = new PGSimpleDataSource();
+    dataSource.setUrl(Objects.requireNonNullElse(System.getenv("SPRING_DATASOURCE_URL"), "jdbc:postgresql://localhost:5432/allergytracker"));
+    dataSource.setUser(Objects.requireNonNullElse(System.getenv("SPRING_DATASOURCE_USERNAME"), "postgres"));
+    dataSource.setPassword(Objects.requireNonNullElse(System.getenv("SPRING_DATASOURCE_PASSWORD"), "postgres"));
+    dataSource.setReWriteBatchedInserts(true);
+    connection = dataSource.getConnection();
+    connection.setAutoCommit(false);
+    var generator = new UuidV7Generator();
+    keys = "v7".equals(keyKind) ? generator::generateId : UUID::randomUUID;
+  }
+
+  @Setup(Level.Iteration)
+  public void createTable() throws SQLException {
+    try (var statement = connection.createStatement()) {
+      statement.execute("DROP TABLE IF EXISTS " + TABLE_NAME);
+      statement.execute("CREATE TABLE " + TABLE_NAME
+              + " (id uuid PRIMARY KEY, user_id uuid NOT NULL, occurred_on timestamp with time zone NOT NULL)");
+    }
+    connection.commit();
+  }
+
+  @Benchmark
+  public void insertRows() throws SQLException {
+    var userId = UUID.randomUUID();
+    var occurredOn = Timestamp.from(Instant.now());
+    try (var insert = connection.prepareStatement("INSERT INTO " + TABLE_NAME + " VALUES (?, ?, ?)")) {
+      for (int i = 1; i <= rows; i++) {
+        insert.setObject(1, keys.get());
+        insert.setObject(2, userId);
+        insert.setTimestamp(3, occurredOn);
+        insert.addBatch();
+        if (i % BATCH_SIZE == 0) {
+          insert.executeBatch();
+          connection.commit();
+        }
+      }
+      insert.executeBatch();
+      connection.commit();
+    }
+  }
+
+  @TearDown(Level.Iteration)
+  public void reportIndexSize() throws SQLException {
+    try (var statement = connection.createStatement();
+         var result = statement.executeQuery(
+                 "SELECT pg_relation_size('" + TABLE_NAME + "_pkey'), pg_relation_size('" + TABLE_NAME + "')")) {
+      result.next();
+      System.out.printf("%n%s keys: primary key index %d MiB, table %d MiB%n",
+              keyKind, result.getLong(1) >> 20, result.getLong(2) >> 20);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void dropTable() throws SQLException {
+    try (var statement = connection.createStatement()) {
+      statement.execute("DROP TABLE IF EXISTS " + TABLE_NAME);
+    }
+    connection.commit();
+    connection.close();
+  }
+}
@@ -0,0 +1,25 @@
+package org.example.allergytracker.id;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(Threads.MAX)
+public class UuidV7GeneratorBenchmark {
+
+  private final UuidV7Generator generator = new UuidV7Generator();
+
+  @Benchmark
+  public UUID uuidV7() {
+    return generator.generateId();
+  }
+
+  @Benchmark
+  public UUID randomUuid() {
+    return UUID.randomUUID();
+  }
+}
@@ -0,0 +1,80 @@
+package org.example.allergytracker.security;
+
+import jakarta.servlet.FilterChain;
+import org.example.allergytracker.security.jwt.DefaultJwtExtractor;
+import org.example.allergytracker.security.jwt.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+  private static final String SECRET = "benchmark-secret-key-for-jwt-tokens-must-be-at-least-256-bits-long";
+  private static final String OTHER_SECRET = "another-secret-key-for-forged-jwt-tokens-must-be-at-least-256-bits";
+  private static final long ACCESS_TOKEN_VALIDITY_MS = 900000;
+  private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+  @Param({"100000"})
+  private long cacheSize;
+
+  @Param({"valid", "missing", "malformed", "forged", "expired"})
+  private String tokenKind;
+
+  private JwtTokenProvider tokenProvider;
+  private JwtAuthenticationFilter filter;
+  private MockHttpServletRequest request;
+  private MockHttpServletRequest publicRequest;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    tokenProvider = new JwtTokenProvider(SECRET, ACCESS_TOKEN_VALIDITY_MS, ACCESS_TOKEN_VALIDITY_MS);
+    filter = new JwtAuthenticationFilter(new VerifiedTokenCache(tokenProvider, cacheSize), new DefaultJwtExtractor());
+    token = tokenFor(tokenKind);
+    request = new MockHttpServletRequest("GET", "/api/entries");
+    if (token != null) {
+      request.addHeader("Authorization", "Bearer " + token);
+    }
+    publicRequest = new MockHttpServletRequest("POST", "/auth/login");
+  }
+
+  @Benchmark
+  public Object filterRequest() throws Exception {
+    filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+    var authentication = SecurityContextHolder.getContext().getAuthentication();
+    SecurityContextHolder.clearContext();
+    return authentication;
+  }
+
+  @Benchmark
+  public Object filterPublicPath() throws Exception {
+    filter.doFilter(publicRequest, new MockHttpServletResponse(), NO_OP_CHAIN);
+    return publicRequest;
+  }
+
+  @Benchmark
+  public Object parseOnce() {
+    return tokenProvider.verify(token);
+  }
+
+  private String tokenFor(String kind) {
+    var userId = UUID.randomUUID();
+    return switch (kind) {
+      case "valid" -> tokenProvider.generateAccessToken(userId, "benchmark@example.com");
+      case "missing" -> null;
+      case "malformed" -> "not a token";
+      case "forged" -> new JwtTokenProvider(OTHER_SECRET, ACCESS_TOKEN_VALIDITY_MS, ACCESS_TOKEN_VALIDITY_MS)
+              .generateAccessToken(userId, "benchmark@example.com");
+      case "expired" -> new JwtTokenProvider(SECRET, -ACCESS_TOKEN_VALIDITY_MS, ACCESS_TOKEN_VALIDITY_MS)
+              .generateAccessToken(userId, "benchmark@example.com");
+      default -> throw new IllegalArgumentException("Unknown token kind: " + kind);
+    };
+  }
+}
@@ -0,0 +1,10 @@
+package org.example.allergytracker;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Kept apart from the application class so test slices do not start the scheduled jobs.
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
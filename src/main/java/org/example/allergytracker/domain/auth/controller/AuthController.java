@@ -26,13 +26,21 @@ public class AuthController {
 
   @PostMapping(REGISTER_PATH)
   @ResponseStatus(HttpStatus.CREATED)
-  public AuthResponse register(@RequestBody RegisterRequest request, HttpServletResponse response) {
-    return authService.register(request, response);
+  public AuthResponse register(
+          @RequestBody RegisterRequest request,
+          HttpServletRequest servletRequest,
+          HttpServletResponse response
+  ) {
+    return authService.register(request, servletRequest, response);
   }
 
   @PostMapping(LOGIN_PATH)
-  public AuthResponse login(@RequestBody LoginRequest request, HttpServletResponse response) {
-    return authService.login(request, response);
+  public AuthResponse login(
+          @RequestBody LoginRequest request,
+          HttpServletRequest servletRequest,
+          HttpServletResponse response
+  ) {
+    return authService.login(request, servletRequest, response);
   }
 
   @PostMapping(REFRESH_PATH)
@@ -43,7 +51,7 @@ public class AuthController {
 
   @PostMapping(LOGOUT_PATH)
   @ResponseStatus(HttpStatus.NO_CONTENT)
-  public void logout(HttpServletResponse response) {
-    authService.logout(response);
+  public void logout(HttpServletRequest request, HttpServletResponse response) {
+    authService.logout(request, response);
   }
 }
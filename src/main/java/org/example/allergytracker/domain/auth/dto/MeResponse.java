@@ -0,0 +1,4 @@
+package org.example.allergytracker.domain.auth.dto;
+
+public record MeResponse(UserResponse user) {
+}
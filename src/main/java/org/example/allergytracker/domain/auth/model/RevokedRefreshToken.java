@@ -0,0 +1,34 @@
+package org.example.allergytracker.domain.auth.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = RevokedRefreshToken.TABLE_NAME)
+@Getter
+@Accessors(fluent = true)
+@NoArgsConstructor(access = lombok.AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class RevokedRefreshToken {
+
+  static final String TABLE_NAME = "revoked_refresh_tokens";
+
+  @Id
+  @Column(name = "token_id", nullable = false, updatable = false)
+  private UUID tokenId;
+
+  @Column(name = "user_id", nullable = false, updatable = false)
+  private UUID userId;
+
+  @Column(name = "expires_at", nullable = false, updatable = false)
+  private Instant expiresAt;
+
+  @Column(name = "revoked_at", nullable = false, updatable = false)
+  private Instant revokedAt;
+}
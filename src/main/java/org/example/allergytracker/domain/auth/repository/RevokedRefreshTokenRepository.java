@@ -0,0 +1,31 @@
+package org.example.allergytracker.domain.auth.repository;
+
+import org.example.allergytracker.domain.auth.model.RevokedRefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface RevokedRefreshTokenRepository extends JpaRepository<RevokedRefreshToken, UUID> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO revoked_refresh_tokens (token_id, user_id, expires_at, revoked_at)
+            VALUES (:tokenId, :userId, :expiresAt, :revokedAt)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(UUID tokenId, UUID userId, Instant expiresAt, Instant revokedAt);
+
+    @Query("select t from RevokedRefreshToken t where t.expiresAt > :now")
+    Stream<RevokedRefreshToken> streamUnexpired(Instant now);
+
+    @Query("select t from RevokedRefreshToken t where t.revokedAt >= :since and t.expiresAt > :now")
+    Stream<RevokedRefreshToken> streamRevokedSince(Instant since, Instant now);
+
+    @Modifying
+    @Query("delete from RevokedRefreshToken t where t.expiresAt <= :now")
+    int deleteExpired(Instant now);
+}
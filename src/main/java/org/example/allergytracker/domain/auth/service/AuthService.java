@@ -14,13 +14,16 @@ import org.example.allergytracker.exception.auth.EmailAlreadyInUseException;
 import org.example.allergytracker.exception.auth.InvalidCredentialsException;
 import org.example.allergytracker.exception.auth.InvalidRefreshTokenException;
 import org.example.allergytracker.exception.auth.UserNotFoundException;
+import org.example.allergytracker.security.DummyPasswordHash;
 import org.example.allergytracker.security.JwtTokenProvider;
 import org.example.allergytracker.security.cookie.CookieManager;
+import org.example.allergytracker.security.ratelimit.LoginRateLimiter;
 import org.slf4j.Logger;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.IdGenerator;
 
-import java.util.UUID;
+import java.time.Instant;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -37,21 +40,21 @@ public class AuthService {
     private final JwtTokenProvider jwtTokenProvider;
     private final CookieManager cookieManager;
     private final EmailValidator emailValidator;
+    private final LoginRateLimiter loginRateLimiter;
+    private final DummyPasswordHash dummyPasswordHash;
+    private final RefreshTokenRevocations refreshTokenRevocations;
+    private final IdGenerator idGenerator;
 
-    public AuthResponse register(RegisterRequest request, HttpServletResponse response) {
+    public AuthResponse register(RegisterRequest request, HttpServletRequest servletRequest, HttpServletResponse response) {
         var email = emailValidator.normalize(request.email());
+        loginRateLimiter.acquire(email, servletRequest.getRemoteAddr());
 
-        if (userRepository.findByEmail(email).isPresent()) {
+        var user = new User(idGenerator.generateId(), email, passwordEncoder.encode(request.password()));
+        // The unique email constraint settles concurrent registrations in the same statement that creates the user.
+        if (userRepository.insertIfAbsent(user.id(), user.email(), user.password()) == 0) {
             LOGGER.warn("Registration attempt with already existing email: {}", email);
             throw new EmailAlreadyInUseException(email);
         }
-
-        var user = new User();
-        user.id(UUID.randomUUID());
-        user.email(email);
-        user.password(passwordEncoder.encode(request.password()));
-
-        userRepository.save(user);
         LOGGER.info("New user registered: {}", email);
 
         var accessToken = jwtTokenProvider.generateAccessToken(user.id(), user.email());
@@ -62,14 +65,18 @@ public class AuthService {
         return new AuthResponse(accessToken, new UserResponse(user.id(), user.email()));
     }
 
-    public AuthResponse login(LoginRequest request, HttpServletResponse response) {
+    public AuthResponse login(LoginRequest request, HttpServletRequest servletRequest, HttpServletResponse response) {
         var email = emailValidator.normalize(request.email());
-
-        var user = userRepository.findByEmail(email)
-                .orElseThrow(() -> {
-                    LOGGER.warn("Login attempt with non-existent email: {}", email);
-                    return new InvalidCredentialsException();
-                });
+        // Throttled attempts are rejected before they cost a user lookup or a bcrypt verification.
+        loginRateLimiter.acquire(email, servletRequest.getRemoteAddr());
+
+        var user = userRepository.findByEmail(email).orElse(null);
+        if (user == null) {
+            // Costs the same bcrypt verification as a real check, so response time does not reveal which emails exist.
+            passwordEncoder.matches(request.password(), dummyPasswordHash.value());
+            LOGGER.warn("Login attempt with non-existent email: {}", email);
+            throw new InvalidCredentialsException();
+        }
 
         if (!passwordEncoder.matches(request.password(), user.password())) {
             LOGGER.warn("Failed login attempt for email: {}", email);
@@ -93,26 +100,50 @@ public class AuthService {
                     return new InvalidRefreshTokenException();
                 });
 
-        if (!jwtTokenProvider.validateToken(refreshToken)) {
-            LOGGER.warn("Refresh attempt with invalid token");
+        var token = jwtTokenProvider.verify(refreshToken)
+                .filter(verified -> verified.tokenId() != null && verified.familyId() != null)
+                .orElseThrow(() -> {
+                    LOGGER.warn("Refresh attempt with invalid token");
+                    return new InvalidRefreshTokenException();
+                });
+        var userId = token.userId();
+
+        if (refreshTokenRevocations.isRevoked(token.familyId())) {
+            LOGGER.warn("Refresh attempt with token from revoked family for user: {}", userId);
+            throw new InvalidRefreshTokenException();
+        }
+        // Revoking the presented token is also the reuse check: the insert finds the id when it was rotated before.
+        if (!refreshTokenRevocations.revoke(token.tokenId(), userId, token.expiresAt())) {
+            // A rotated token came back, so the chain may be stolen; every token descending from the same login dies.
+            LOGGER.warn("Refresh token reuse detected for user: {}", userId);
+            refreshTokenRevocations.revoke(token.familyId(), userId, Instant.now().plus(jwtTokenProvider.refreshTokenValidity()));
             throw new InvalidRefreshTokenException();
         }
 
-        var userId = jwtTokenProvider.getUserIdFromToken(refreshToken);
         var user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
         LOGGER.debug("Token refreshed for user: {}", userId);
 
         var newAccessToken = jwtTokenProvider.generateAccessToken(user.id(), user.email());
-        var newRefreshToken = jwtTokenProvider.generateRefreshToken(user.id(), user.email());
+        var newRefreshToken = jwtTokenProvider.generateRefreshToken(user.id(), user.email(), token.familyId());
 
         cookieManager.setCookie(response, REFRESH_TOKEN_COOKIE, newRefreshToken, REFRESH_TOKEN_MAX_AGE);
 
         return new AuthResponse(newAccessToken, new UserResponse(user.id(), user.email()));
     }
 
-    public void logout(HttpServletResponse response) {
+    public void logout(HttpServletRequest request, HttpServletResponse response) {
+        cookieManager.getCookie(request, REFRESH_TOKEN_COOKIE)
+                .flatMap(jwtTokenProvider::verify)
+                .filter(token -> token.tokenId() != null && token.familyId() != null)
+                .ifPresent(token -> {
+                    // The token's own id makes its next use fail on any instance at once; other instances learn about
+                    // the family on their next sync.
+                    refreshTokenRevocations.revoke(token.tokenId(), token.userId(), token.expiresAt());
+                    refreshTokenRevocations.revoke(
+                            token.familyId(), token.userId(), Instant.now().plus(jwtTokenProvider.refreshTokenValidity()));
+                });
         LOGGER.debug("User logged out");
         cookieManager.clearCookie(response, REFRESH_TOKEN_COOKIE);
     }
@@ -0,0 +1,116 @@
+package org.example.allergytracker.domain.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.example.allergytracker.domain.auth.model.RevokedRefreshToken;
+import org.example.allergytracker.domain.auth.repository.RevokedRefreshTokenRepository;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+@Component
+public class RefreshTokenRevocations {
+
+  private static final Logger LOGGER = getLogger(RefreshTokenRevocations.class);
+  private static final double FALSE_POSITIVE_RATE = 0.01;
+  // Re-reads a margin before the last sync for revocations committed late or stamped by a clock running behind.
+  private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+  private final RevokedRefreshTokenRepository revokedRefreshTokenRepository;
+  private final int expectedRevocations;
+  private final AtomicReference<RevocationBloomFilter> bloomFilter;
+  private final Cache<UUID, Instant> revoked;
+  private volatile Instant syncedUpTo = Instant.now();
+
+  public RefreshTokenRevocations(
+          RevokedRefreshTokenRepository revokedRefreshTokenRepository,
+          @Value("${jwt.refresh-token-revocations.expected:100000}") int expectedRevocations
+  ) {
+    this.revokedRefreshTokenRepository = revokedRefreshTokenRepository;
+    this.expectedRevocations = expectedRevocations;
+    this.bloomFilter = new AtomicReference<>(new RevocationBloomFilter(expectedRevocations, FALSE_POSITIVE_RATE));
+    this.revoked = Caffeine.newBuilder()
+            .maximumSize(expectedRevocations)
+            .expireAfter(Expiry.<UUID, Instant>creating((id, expiresAt) -> timeToLive(expiresAt)))
+            .build();
+  }
+
+  // A Bloom filter cannot forget, so expired revocations only leave it when it is rebuilt from the table.
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(
+          initialDelayString = "${jwt.refresh-token-revocations.rebuild-interval:1h}",
+          fixedDelayString = "${jwt.refresh-token-revocations.rebuild-interval:1h}"
+  )
+  @Transactional
+  public void rebuild() {
+    var now = Instant.now();
+    var purged = revokedRefreshTokenRepository.deleteExpired(now);
+    var rebuilt = new RevocationBloomFilter(expectedRevocations, FALSE_POSITIVE_RATE);
+    try (var tokens = revokedRefreshTokenRepository.streamUnexpired(now)) {
+      tokens.forEach(token -> {
+        rebuilt.put(token.tokenId());
+        revoked.put(token.tokenId(), token.expiresAt());
+      });
+    }
+    bloomFilter.set(rebuilt);
+    syncedUpTo = now;
+    LOGGER.info("Rebuilt refresh token revocation filter, purged {} expired revocations", purged);
+  }
+
+  // Picks up what other instances revoked since the last sync. Until then a family revoked elsewhere still passes
+  // isRevoked here, so the interval bounds that window; the presented token itself is caught by revoke() either way.
+  @Scheduled(
+          initialDelayString = "${jwt.refresh-token-revocations.sync-interval:10s}",
+          fixedDelayString = "${jwt.refresh-token-revocations.sync-interval:10s}"
+  )
+  @Transactional(readOnly = true)
+  public void sync() {
+    var now = Instant.now();
+    try (var tokens = revokedRefreshTokenRepository.streamRevokedSince(syncedUpTo.minus(SYNC_OVERLAP), now)) {
+      tokens.forEach(this::remember);
+    }
+    syncedUpTo = now;
+  }
+
+  public boolean isRevoked(UUID id) {
+    if (!bloomFilter.get().mightContain(id)) {
+      return false;
+    }
+    if (revoked.getIfPresent(id) != null) {
+      return true;
+    }
+    // Only a filter false positive, or an id evicted from the exact set, reaches the table.
+    return revokedRefreshTokenRepository.existsById(id);
+  }
+
+  // False when the id had already been revoked, which for a token being rotated means it was reused.
+  @Transactional
+  public boolean revoke(UUID id, UUID userId, Instant expiresAt) {
+    var inserted = revokedRefreshTokenRepository.insertIfAbsent(id, userId, expiresAt, Instant.now()) > 0;
+    bloomFilter.get().put(id);
+    revoked.put(id, expiresAt);
+    return inserted;
+  }
+
+  private void remember(RevokedRefreshToken token) {
+    bloomFilter.get().put(token.tokenId());
+    revoked.put(token.tokenId(), token.expiresAt());
+  }
+
+  private static Duration timeToLive(Instant expiresAt) {
+    var remaining = Duration.between(Instant.now(), expiresAt);
+    return remaining.isNegative() ? Duration.ZERO : remaining;
+  }
+}
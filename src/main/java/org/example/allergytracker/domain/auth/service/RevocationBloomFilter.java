@@ -0,0 +1,43 @@
+package org.example.allergytracker.domain.auth.service;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+final class RevocationBloomFilter {
+
+  private final AtomicLongArray words;
+  private final long bitCount;
+  private final int hashCount;
+
+  RevocationBloomFilter(int expectedInsertions, double falsePositiveRate) {
+    var bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    this.words = new AtomicLongArray((int) Math.max(1, (bits + 63) / 64));
+    this.bitCount = words.length() * 64L;
+    this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+  }
+
+  void put(UUID id) {
+    for (int i = 0; i < hashCount; i++) {
+      var bit = bitIndex(id, i);
+      var mask = 1L << bit;
+      var index = (int) (bit >>> 6);
+      words.getAndUpdate(index, word -> word | mask);
+    }
+  }
+
+  boolean mightContain(UUID id) {
+    for (int i = 0; i < hashCount; i++) {
+      var bit = bitIndex(id, i);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // Random UUIDs are already uniformly distributed, so their two halves serve as the double-hashing pair.
+  private long bitIndex(UUID id, int i) {
+    var combined = id.getMostSignificantBits() + i * id.getLeastSignificantBits();
+    return Math.floorMod(combined, bitCount);
+  }
+}
@@ -0,0 +1,8 @@
+package org.example.allergytracker.domain.entry.controller;
+
+public record AreaStatsDto(
+        long sum,
+        double mean,
+        int max
+) {
+}
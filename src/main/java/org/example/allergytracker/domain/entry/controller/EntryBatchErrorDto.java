@@ -0,0 +1,9 @@
+package org.example.allergytracker.domain.entry.controller;
+
+import java.util.List;
+
+public record EntryBatchErrorDto(
+        int index,
+        List<String> messages
+) {
+}
@@ -0,0 +1,9 @@
+package org.example.allergytracker.domain.entry.controller;
+
+import java.util.List;
+
+public record EntryBatchResultDto(
+        List<EntryDto> created,
+        List<EntryBatchErrorDto> errors
+) {
+}
@@ -0,0 +1,7 @@
+package org.example.allergytracker.domain.entry.controller;
+
+import java.util.List;
+import java.util.UUID;
+
+public record EntryChangesDto(List<EntryDto> changed, List<UUID> deleted, String cursor, boolean hasMore) {
+}
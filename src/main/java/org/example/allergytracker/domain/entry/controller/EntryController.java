@@ -1,15 +1,31 @@
 package org.example.allergytracker.domain.entry.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.example.allergytracker.domain.entry.model.Entry;
 import org.example.allergytracker.domain.entry.model.ExposureType;
+import org.example.allergytracker.domain.entry.service.EntryChangeCursor;
+import org.example.allergytracker.domain.entry.service.EntryCursor;
 import org.example.allergytracker.domain.entry.service.EntryService;
 import org.example.allergytracker.domain.entry.service.ExposureTypeService;
+import org.example.allergytracker.domain.entry.service.StatsGranularity;
+import org.example.allergytracker.domain.entry.service.SymptomStatsService;
+import org.example.allergytracker.domain.entry.validator.EntryValidator;
+import org.example.allergytracker.exception.entry.InvalidEntryBatchException;
+import org.example.allergytracker.exception.entry.InvalidEntryException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.example.allergytracker.security.AuthenticationProvider.getCurrentUserId;
 
@@ -20,16 +36,90 @@ public class EntryController {
 
   static final String ENTRY_API_PATH = "/api/entries";
   static final String ID_PATH = "/{id}";
+  static final String EXPORT_PATH = "/export";
+  static final String BATCH_PATH = "/batch";
+  static final String STATS_PATH = "/stats";
+  static final String CHANGES_PATH = "/changes";
+  static final int MAX_BATCH_SIZE = 1000;
+  static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+  private static final String DEFAULT_PAGE_SIZE = "100";
+  private static final String DEFAULT_EXPORT_FORMAT = "ndjson";
+  private static final String EXPORT_FILE_NAME = "entries.";
+  private static final String DEFAULT_STATS_GRANULARITY = "day";
+  private static final String DEFAULT_STATS_ZONE = "UTC";
 
   private final EntryService entryService;
   private final ExposureTypeService exposureTypeService;
+  private final EntryExportWriter entryExportWriter;
+  private final EntryValidator entryValidator;
+  private final SymptomStatsService symptomStatsService;
 
   @GetMapping
-  public List<EntryDto> getAllEntries() {
+  public ResponseEntity<List<EntryDto>> getEntries(
+          @RequestParam(required = false) Instant from,
+          @RequestParam(required = false) Instant to,
+          @RequestParam(required = false) String cursor,
+          @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit
+  ) {
     var userId = getCurrentUserId();
-    return entryService.findAllByUserId(userId).stream()
+    var after = cursor != null ? EntryCursor.decode(cursor) : null;
+    var page = entryService.findPageByUserId(userId, from, to, after, limit);
+
+    var response = ResponseEntity.ok();
+    page.nextCursor().ifPresent(next -> response.header(NEXT_CURSOR_HEADER, next.encode()));
+    return response.body(page.entries().stream()
+            .map(EntryMapper::toDto)
+            .toList());
+  }
+
+  @GetMapping(CHANGES_PATH)
+  public EntryChangesDto getChanges(
+          @RequestParam(required = false) String since,
+          @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit
+  ) {
+    var userId = getCurrentUserId();
+    var after = since != null ? EntryChangeCursor.decode(since) : null;
+    var changes = entryService.findChangesByUserId(userId, after, limit);
+
+    return new EntryChangesDto(
+            changes.changed().stream().map(EntryMapper::toDto).toList(),
+            changes.deleted(),
+            changes.cursor().encode(),
+            changes.hasMore()
+    );
+  }
+
+  @GetMapping(EXPORT_PATH)
+  public ResponseEntity<StreamingResponseBody> exportEntries(
+          @RequestParam(defaultValue = DEFAULT_EXPORT_FORMAT) String format
+  ) {
+    var userId = getCurrentUserId();
+    var exportFormat = EntryExportFormat.fromExtension(format);
+    var contentDisposition = ContentDisposition.attachment()
+            .filename(EXPORT_FILE_NAME + exportFormat.extension())
+            .build();
+
+    return ResponseEntity.ok()
+            .contentType(exportFormat.mediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
+            .body(out -> entryExportWriter.write(userId, exportFormat, out));
+  }
+
+  @GetMapping(STATS_PATH)
+  public SymptomStatsDto getStats(
+          @RequestParam(required = false) Instant from,
+          @RequestParam(required = false) Instant to,
+          @RequestParam(defaultValue = DEFAULT_STATS_GRANULARITY) String granularity,
+          @RequestParam(defaultValue = DEFAULT_STATS_ZONE) String zone
+  ) {
+    var userId = getCurrentUserId();
+    var statsGranularity = StatsGranularity.fromUnit(granularity);
+    var zoneId = SymptomStatsService.parseZone(zone);
+
+    var buckets = symptomStatsService.aggregate(userId, from, to, statsGranularity, zoneId).stream()
             .map(EntryMapper::toDto)
             .toList();
+    return new SymptomStatsDto(statsGranularity.unit(), zoneId.getId(), buckets);
   }
 
   @GetMapping(ID_PATH)
@@ -45,22 +135,72 @@ public class EntryController {
   @ResponseStatus(HttpStatus.CREATED)
   public EntryDto createEntry(@RequestBody EntryDto entryDto) {
     var userId = getCurrentUserId();
+    validate(entryDto);
     var exposureTypes = resolveExposureTypes(entryDto.exposures());
-    var entry = EntryMapper.fromDto(entryDto.withId(null), exposureTypes);
+    // A version would make the repository merge instead of persist and start the entry at the client's number.
+    var entry = EntryMapper.fromDto(entryDto.withId(null).withVersion(null), exposureTypes);
     var saved = entryService.save(entry, userId);
     return EntryMapper.toDto(saved);
   }
 
-  @PutMapping(ID_PATH)
-  public ResponseEntity<EntryDto> updateEntry(@PathVariable UUID id, @RequestBody EntryDto entryDto) {
+  @PostMapping(BATCH_PATH)
+  public EntryBatchResultDto createEntries(@RequestBody List<EntryDto> entryDtos) {
     var userId = getCurrentUserId();
-    if (entryService.findByIdAndUserId(id, userId).isEmpty()) {
-      return ResponseEntity.notFound().build();
+    if (entryDtos.isEmpty() || entryDtos.size() > MAX_BATCH_SIZE) {
+      throw new InvalidEntryBatchException("Batch must contain between 1 and " + MAX_BATCH_SIZE + " entries");
     }
+
+    var exposureNames = entryDtos.stream()
+            .filter(Objects::nonNull)
+            .map(EntryDto::exposures)
+            .filter(Objects::nonNull)
+            .flatMap(List::stream)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+    var exposureTypesByName = exposureTypeService.findAllByValues(exposureNames).stream()
+            .collect(Collectors.toMap(ExposureType::value, Function.identity()));
+
+    var entries = new ArrayList<Entry>();
+    var errors = new ArrayList<EntryBatchErrorDto>();
+    for (int index = 0; index < entryDtos.size(); index++) {
+      var entryDto = entryDtos.get(index);
+      if (entryDto == null) {
+        errors.add(new EntryBatchErrorDto(index, List.of("Entry must not be null")));
+        continue;
+      }
+      var exposures = entryDto.exposures() != null ? entryDto.exposures() : List.<String>of();
+      var messages = new ArrayList<>(entryValidator.validate(entryDto));
+      exposures.stream()
+              .filter(Objects::nonNull)
+              .filter(name -> !exposureTypesByName.containsKey(name))
+              .forEach(name -> messages.add("Unknown exposure: " + name));
+
+      if (!messages.isEmpty()) {
+        errors.add(new EntryBatchErrorDto(index, messages));
+        continue;
+      }
+      var exposureTypes = exposures.stream().map(exposureTypesByName::get).toList();
+      entries.add(EntryMapper.fromDto(entryDto.withId(null).withVersion(null), exposureTypes));
+    }
+
+    var created = entries.isEmpty() ? List.<Entry>of() : entryService.saveAll(entries, userId);
+    return new EntryBatchResultDto(created.stream().map(EntryMapper::toDto).toList(), errors);
+  }
+
+  @PutMapping(ID_PATH)
+  public EntryDto updateEntry(@PathVariable UUID id, @RequestBody EntryDto entryDto) {
+    var userId = getCurrentUserId();
+    validate(entryDto);
     var exposureTypes = resolveExposureTypes(entryDto.exposures());
-    var entry = EntryMapper.fromDto(entryDto.withId(id), exposureTypes);
-    var updated = entryService.save(entry, userId);
-    return ResponseEntity.ok(EntryMapper.toDto(updated));
+    var changes = EntryMapper.fromDto(entryDto.withId(id), exposureTypes);
+    var updated = entryService.update(id, userId, changes);
+    return EntryMapper.toDto(updated);
+  }
+
+  @DeleteMapping
+  public EntryDeletionResultDto deleteEntries(@RequestParam Instant from, @RequestParam Instant to) {
+    var userId = getCurrentUserId();
+    return new EntryDeletionResultDto(entryService.deleteByUserIdAndOccurredOnRange(userId, from, to));
   }
 
   @DeleteMapping(ID_PATH)
@@ -70,6 +210,13 @@ public class EntryController {
     return ResponseEntity.noContent().build();
   }
 
+  private void validate(EntryDto entryDto) {
+    var errors = entryValidator.validate(entryDto);
+    if (!errors.isEmpty()) {
+      throw new InvalidEntryException(String.join("; ", errors));
+    }
+  }
+
   private List<ExposureType> resolveExposureTypes(List<String> exposureNames) {
     return exposureNames.stream()
             .map(exposureTypeService::findByValue)
@@ -0,0 +1,4 @@
+package org.example.allergytracker.domain.entry.controller;
+
+public record EntryDeletionResultDto(int deleted) {
+}
@@ -14,7 +14,8 @@ public record EntryDto(
         int eyes,
         int total,
         List<String> exposures,
-        String note
+        String note,
+        Long version
 ) {
     public EntryDto withId(UUID newId) {
         return new EntryDto(
@@ -27,7 +28,24 @@ public record EntryDto(
                 this.eyes,
                 this.total,
                 this.exposures,
-                this.note
+                this.note,
+                this.version
+        );
+    }
+
+    public EntryDto withVersion(Long newVersion) {
+        return new EntryDto(
+                this.id,
+                this.userId,
+                this.occurredOn,
+                this.upperRespiratory,
+                this.lowerRespiratory,
+                this.skin,
+                this.eyes,
+                this.total,
+                this.exposures,
+                this.note,
+                newVersion
         );
     }
 }
@@ -0,0 +1,27 @@
+package org.example.allergytracker.domain.entry.controller;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Accessors;
+import org.example.allergytracker.exception.entry.UnsupportedExportFormatException;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+
+@Getter
+@Accessors(fluent = true)
+@RequiredArgsConstructor
+public enum EntryExportFormat {
+  NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")),
+  CSV("csv", MediaType.parseMediaType("text/csv"));
+
+  private final String extension;
+  private final MediaType mediaType;
+
+  public static EntryExportFormat fromExtension(String extension) {
+    return Arrays.stream(values())
+            .filter(format -> format.extension.equalsIgnoreCase(extension))
+            .findFirst()
+            .orElseThrow(() -> new UnsupportedExportFormatException(extension));
+  }
+}
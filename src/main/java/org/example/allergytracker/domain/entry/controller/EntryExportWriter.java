@@ -0,0 +1,133 @@
+package org.example.allergytracker.domain.entry.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.example.allergytracker.domain.entry.model.Entry;
+import org.example.allergytracker.domain.entry.model.ExposureType;
+import org.example.allergytracker.domain.entry.model.Note;
+import org.example.allergytracker.domain.entry.service.EntryService;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class EntryExportWriter {
+
+  private static final String CSV_HEADER =
+          "id,occurredOn,upperRespiratory,lowerRespiratory,skin,eyes,total,exposures,note";
+  private static final String CSV_EXPOSURE_SEPARATOR = ";";
+  private static final char LINE_SEPARATOR = '\n';
+
+  private final EntryService entryService;
+  private final ObjectMapper objectMapper;
+
+  public void write(UUID userId, EntryExportFormat format, OutputStream out) throws IOException {
+    switch (format) {
+      case NDJSON -> writeNdjson(userId, out);
+      case CSV -> writeCsv(userId, out);
+    }
+  }
+
+  private void writeNdjson(UUID userId, OutputStream out) throws IOException {
+    try (var generator = objectMapper.getFactory().createGenerator(out)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.setRootValueSeparator(null);
+      entryService.forEachByUserId(userId, entry -> {
+        try {
+          writeJson(generator, entry);
+          generator.writeRaw(LINE_SEPARATOR);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private void writeJson(JsonGenerator generator, Entry entry) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("id", entry.id().toString());
+    generator.writeStringField("occurredOn", occurredOn(entry));
+    generator.writeNumberField("upperRespiratory", entry.upperRespiratory().value());
+    generator.writeNumberField("lowerRespiratory", entry.lowerRespiratory().value());
+    generator.writeNumberField("skin", entry.skin().value());
+    generator.writeNumberField("eyes", entry.eyes().value());
+    generator.writeNumberField("total", total(entry));
+    generator.writeArrayFieldStart("exposures");
+    for (var exposureType : entry.exposureTypes()) {
+      generator.writeString(exposureType.value());
+    }
+    generator.writeEndArray();
+    generator.writeStringField("note", entry.note().map(Note::value).orElse(null));
+    generator.writeEndObject();
+  }
+
+  private void writeCsv(UUID userId, OutputStream out) throws IOException {
+    var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    writer.write(CSV_HEADER);
+    writer.write(LINE_SEPARATOR);
+    try {
+      entryService.forEachByUserId(userId, entry -> {
+        try {
+          writeCsvRow(writer, entry);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    writer.flush();
+  }
+
+  private void writeCsvRow(Writer writer, Entry entry) throws IOException {
+    var exposures = entry.exposureTypes().stream()
+            .map(ExposureType::value)
+            .collect(Collectors.joining(CSV_EXPOSURE_SEPARATOR));
+
+    writer.write(entry.id().toString());
+    writer.write(',');
+    writer.write(Objects.toString(occurredOn(entry), ""));
+    writer.write(',');
+    writer.write(Integer.toString(entry.upperRespiratory().value()));
+    writer.write(',');
+    writer.write(Integer.toString(entry.lowerRespiratory().value()));
+    writer.write(',');
+    writer.write(Integer.toString(entry.skin().value()));
+    writer.write(',');
+    writer.write(Integer.toString(entry.eyes().value()));
+    writer.write(',');
+    writer.write(Integer.toString(total(entry)));
+    writer.write(',');
+    writer.write(escapeCsv(exposures));
+    writer.write(',');
+    writer.write(escapeCsv(entry.note().map(Note::value).orElse("")));
+    writer.write(LINE_SEPARATOR);
+  }
+
+  // occurred_on is nullable, so an undated entry is exported without a date instead of breaking off the stream.
+  private static String occurredOn(Entry entry) {
+    return entry.occurredOn() != null ? entry.occurredOn().toString() : null;
+  }
+
+  private static int total(Entry entry) {
+    return entry.upperRespiratory().value() +
+            entry.lowerRespiratory().value() +
+            entry.skin().value() +
+            entry.eyes().value();
+  }
+
+  private static String escapeCsv(String value) {
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
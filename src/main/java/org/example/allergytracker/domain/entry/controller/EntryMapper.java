@@ -4,9 +4,12 @@ import org.example.allergytracker.domain.entry.model.Entry;
 import org.example.allergytracker.domain.entry.model.ExposureType;
 import org.example.allergytracker.domain.entry.model.Note;
 import org.example.allergytracker.domain.entry.model.Symptoms;
+import org.example.allergytracker.domain.entry.repository.EntryView;
+import org.example.allergytracker.domain.entry.repository.SymptomStatsRow;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,7 +28,7 @@ public class EntryMapper {
 
     return new EntryDto(
             entry.id(),
-            entry.user().id(),
+            entry.userId(),
             entry.occurredOn(),
             entry.upperRespiratory().value(),
             entry.lowerRespiratory().value(),
@@ -33,7 +36,24 @@ public class EntryMapper {
             entry.eyes().value(),
             total,
             exposures,
-            entry.note().map(Note::value).orElse(null)
+            entry.note().map(Note::value).orElse(null),
+            entry.version()
+    );
+  }
+
+  public static EntryDto toDto(EntryView entry) {
+    return new EntryDto(
+            entry.id(),
+            entry.userId(),
+            entry.occurredOn(),
+            entry.upperRespiratory(),
+            entry.lowerRespiratory(),
+            entry.skin(),
+            entry.eyes(),
+            entry.upperRespiratory() + entry.lowerRespiratory() + entry.skin() + entry.eyes(),
+            entry.exposures(),
+            entry.note(),
+            entry.version()
     );
   }
 
@@ -49,10 +69,28 @@ public class EntryMapper {
             new Note(dto.note()),
             Instant.now(),
             Instant.now(),
-            exposureTypes
+            new LinkedHashSet<>(exposureTypes),
+            dto.version()
     );
   }
 
+  public static SymptomStatsBucketDto toDto(SymptomStatsRow row) {
+    var count = row.getEntryCount();
+    return new SymptomStatsBucketDto(
+            row.getBucket(),
+            count,
+            toAreaStats(row.getUpperRespiratorySum(), row.getUpperRespiratoryMax(), count),
+            toAreaStats(row.getLowerRespiratorySum(), row.getLowerRespiratoryMax(), count),
+            toAreaStats(row.getSkinSum(), row.getSkinMax(), count),
+            toAreaStats(row.getEyesSum(), row.getEyesMax(), count),
+            toAreaStats(row.getTotalSum(), row.getTotalMax(), count)
+    );
+  }
+
+  private static AreaStatsDto toAreaStats(long sum, int max, long count) {
+    return new AreaStatsDto(sum, count == 0 ? 0 : (double) sum / count, max);
+  }
+
   public static ExposureTypeDto toDto(ExposureType exposureType) {
     return new ExposureTypeDto(
             exposureType.id(),
@@ -2,8 +2,10 @@ package org.example.allergytracker.domain.entry.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.example.allergytracker.domain.entry.service.ExposureTypeService;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -19,10 +21,18 @@ public class ExposureTypeController {
   private final ExposureTypeService exposureTypeService;
 
   @GetMapping
-  public List<ExposureTypeDto> getAllExposureTypes() {
-    return exposureTypeService.findAll().stream()
-            .map(EntryMapper::toDto)
-            .toList();
+  public ResponseEntity<List<ExposureTypeDto>> getAllExposureTypes(WebRequest request) {
+    var catalog = exposureTypeService.catalog();
+    var eTag = "\"" + catalog.version() + "\"";
+    if (request.checkNotModified(eTag)) {
+      return null;
+    }
+    return ResponseEntity.ok()
+            .eTag(eTag)
+            .cacheControl(CacheControl.noCache())
+            .body(catalog.exposureTypes().stream()
+                    .map(EntryMapper::toDto)
+                    .toList());
   }
 
   @GetMapping(ID_PATH)
@@ -0,0 +1,14 @@
+package org.example.allergytracker.domain.entry.controller;
+
+import java.time.LocalDate;
+
+public record SymptomStatsBucketDto(
+        LocalDate start,
+        long count,
+        AreaStatsDto upperRespiratory,
+        AreaStatsDto lowerRespiratory,
+        AreaStatsDto skin,
+        AreaStatsDto eyes,
+        AreaStatsDto total
+) {
+}
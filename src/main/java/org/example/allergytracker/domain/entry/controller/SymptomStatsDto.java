@@ -0,0 +1,10 @@
+package org.example.allergytracker.domain.entry.controller;
+
+import java.util.List;
+
+public record SymptomStatsDto(
+        String granularity,
+        String zone,
+        List<SymptomStatsBucketDto> buckets
+) {
+}
@@ -0,0 +1,84 @@
+package org.example.allergytracker.domain.entry.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = CompactEntry.TABLE_NAME)
+@Getter
+@Accessors(fluent = true)
+@NoArgsConstructor(access = lombok.AccessLevel.PROTECTED)
+public class CompactEntry implements Persistable<UUID> {
+
+  public static final String TABLE_NAME = "compact_entries";
+
+  @Id
+  @Column(name = "id", nullable = false, updatable = false)
+  private UUID id;
+
+  @Column(name = "user_id", nullable = false, updatable = false)
+  private UUID userId;
+
+  @Column(name = "occurred_on")
+  private Instant occurredOn;
+
+  @Column(name = "upper_respiratory", nullable = false)
+  private short upperRespiratory;
+
+  @Column(name = "lower_respiratory", nullable = false)
+  private short lowerRespiratory;
+
+  @Column(name = "skin", nullable = false)
+  private short skin;
+
+  @Column(name = "eyes", nullable = false)
+  private short eyes;
+
+  @Column(name = "exposure_type_ids", nullable = false)
+  private UUID[] exposureTypeIds;
+
+  // Ids are copied from the entry, so Spring Data cannot tell a new row from a stored one by the id alone.
+  @Transient
+  private boolean persisted;
+
+  public static CompactEntry of(Entry entry) {
+    var compactEntry = new CompactEntry();
+    compactEntry.id = entry.id();
+    compactEntry.userId = entry.userId();
+    compactEntry.copyFrom(entry);
+    return compactEntry;
+  }
+
+  public void copyFrom(Entry entry) {
+    occurredOn = entry.occurredOn();
+    upperRespiratory = (short) entry.upperRespiratory().value();
+    lowerRespiratory = (short) entry.lowerRespiratory().value();
+    skin = (short) entry.skin().value();
+    eyes = (short) entry.eyes().value();
+    exposureTypeIds = entry.exposureTypes() != null
+            ? entry.exposureTypes().stream().map(ExposureType::id).toArray(UUID[]::new)
+            : new UUID[0];
+  }
+
+  @Override
+  public UUID getId() {
+    return id;
+  }
+
+  @Override
+  public boolean isNew() {
+    return !persisted;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markPersisted() {
+    persisted = true;
+  }
+}
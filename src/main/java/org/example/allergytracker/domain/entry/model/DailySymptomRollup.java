@@ -0,0 +1,36 @@
+package org.example.allergytracker.domain.entry.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+@Entity
+@Table(name = DailySymptomRollup.TABLE_NAME)
+@Getter
+@Setter
+@Accessors(fluent = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailySymptomRollup {
+
+  public static final String TABLE_NAME = "daily_symptom_rollup";
+
+  @EmbeddedId
+  private DailySymptomRollupId id;
+
+  private int entryCount;
+  private int upperRespiratorySum;
+  private int upperRespiratoryMax;
+  private int lowerRespiratorySum;
+  private int lowerRespiratoryMax;
+  private int skinSum;
+  private int skinMax;
+  private int eyesSum;
+  private int eyesMax;
+  private int totalSum;
+  private int totalMax;
+  private int exposureCount;
+}
@@ -0,0 +1,16 @@
+package org.example.allergytracker.domain.entry.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Embeddable
+public record DailySymptomRollupId(
+        @Column(name = "user_id", nullable = false)
+        UUID userId,
+        @Column(name = "day", nullable = false)
+        LocalDate day
+) implements Serializable { }
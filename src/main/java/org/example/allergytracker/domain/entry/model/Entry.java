@@ -7,10 +7,13 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 import org.example.allergytracker.domain.user.model.User;
+import org.example.allergytracker.id.UuidV7ValueGenerator;
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.proxy.HibernateProxy;
 
 import java.time.Instant;
-import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Entity
@@ -34,7 +37,7 @@ public class Entry {
   private static final String NOTE_COL = "note_value";
 
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @UuidGenerator(algorithm = UuidV7ValueGenerator.class)
   UUID id;
 
   @ManyToOne(fetch = FetchType.LAZY)
@@ -69,9 +72,23 @@ public class Entry {
           joinColumns = @JoinColumn(name = ENTRY_EXPOSURE_TYPES_ENTRY_ID),
           inverseJoinColumns = @JoinColumn(name = ENTRY_EXPOSURE_TYPES_EXPOSURE_TYPE_ID)
   )
-  private List<ExposureType> exposureTypes;
+  // A set lets Hibernate write only the added and removed join rows, where a bag deletes and reinserts them all.
+  @OrderBy("value")
+  private Set<ExposureType> exposureTypes;
+
+  @Version
+  @Column(nullable = false)
+  private Long version;
 
   public Optional<Note> note() {
     return Optional.ofNullable(note);
   }
+
+  public UUID userId() {
+    // Reads the id held by an uninitialized proxy instead of loading the user row.
+    if (user instanceof HibernateProxy proxy) {
+      return (UUID) proxy.getHibernateLazyInitializer().getInternalIdentifier();
+    }
+    return user.id();
+  }
 }
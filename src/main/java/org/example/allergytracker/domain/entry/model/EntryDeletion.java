@@ -0,0 +1,31 @@
+package org.example.allergytracker.domain.entry.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = EntryDeletion.TABLE_NAME)
+@Getter
+@Accessors(fluent = true)
+@NoArgsConstructor(access = lombok.AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class EntryDeletion {
+
+  static final String TABLE_NAME = "entry_deletions";
+
+  @Id
+  @Column(name = "entry_id", nullable = false, updatable = false)
+  private UUID entryId;
+
+  @Column(name = "user_id", nullable = false, updatable = false)
+  private UUID userId;
+
+  @Column(name = "deleted_at", nullable = false, updatable = false)
+  private Instant deletedAt;
+}
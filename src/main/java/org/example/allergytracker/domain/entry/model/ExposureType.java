@@ -5,16 +5,17 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.experimental.Accessors;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.proxy.HibernateProxy;
 
+import java.util.Objects;
 import java.util.UUID;
 
 @Entity
-@Table(
-        name = ExposureType.TABLE_NAME,
-        uniqueConstraints = @UniqueConstraint(columnNames = ExposureType.VALUE_COLUMN_NAME)
-)
+@Table(name = ExposureType.TABLE_NAME)
 @Getter
 @Accessors(fluent = true)
+@BatchSize(size = 50)
 @NoArgsConstructor(access = lombok.AccessLevel.PROTECTED)
 @AllArgsConstructor
 public class ExposureType {
@@ -33,4 +34,25 @@ public class ExposureType {
 
   @Column(name = DESCRIPTION_COLUMN_NAME)
   private String description;
+
+  // Final, so a reference proxy compares and hashes by its id instead of loading its row first.
+  @Override
+  public final boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    return other instanceof ExposureType exposureType && idOf(this) != null && idOf(this).equals(idOf(exposureType));
+  }
+
+  @Override
+  public final int hashCode() {
+    return Objects.hashCode(idOf(this));
+  }
+
+  private static UUID idOf(ExposureType exposureType) {
+    if (exposureType instanceof HibernateProxy proxy) {
+      return (UUID) proxy.getHibernateLazyInitializer().getInternalIdentifier();
+    }
+    return exposureType.id;
+  }
 }
@@ -1,6 +1,8 @@
 package org.example.allergytracker.domain.entry.model;
 
 import jakarta.persistence.Embeddable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 @Embeddable
-public record Symptoms(int value) { }
+public record Symptoms(@JdbcTypeCode(SqlTypes.SMALLINT) int value) { }
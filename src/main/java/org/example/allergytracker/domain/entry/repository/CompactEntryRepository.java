@@ -0,0 +1,69 @@
+package org.example.allergytracker.domain.entry.repository;
+
+import org.example.allergytracker.domain.entry.model.CompactEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface CompactEntryRepository extends JpaRepository<CompactEntry, UUID> {
+
+    @Query(value = """
+            SELECT CAST(CASE :unit
+                            WHEN 'week' THEN date_trunc('week', e.local_time)
+                            WHEN 'month' THEN date_trunc('month', e.local_time)
+                            ELSE date_trunc('day', e.local_time)
+                        END AS date) AS "bucket",
+                   count(*) AS "entryCount",
+                   sum(e.upper_respiratory) AS "upperRespiratorySum",
+                   max(e.upper_respiratory) AS "upperRespiratoryMax",
+                   sum(e.lower_respiratory) AS "lowerRespiratorySum",
+                   max(e.lower_respiratory) AS "lowerRespiratoryMax",
+                   sum(e.skin) AS "skinSum",
+                   max(e.skin) AS "skinMax",
+                   sum(e.eyes) AS "eyesSum",
+                   max(e.eyes) AS "eyesMax",
+                   sum(e.total) AS "totalSum",
+                   max(e.total) AS "totalMax"
+            FROM (SELECT CAST(occurred_on AT TIME ZONE :zone AS timestamp) AS local_time,
+                         upper_respiratory,
+                         lower_respiratory,
+                         skin,
+                         eyes,
+                         upper_respiratory + lower_respiratory + skin + eyes AS total
+                  FROM compact_entries
+                  WHERE user_id = :userId AND occurred_on >= :from AND occurred_on < :to) e
+            GROUP BY 1
+            ORDER BY 1
+            """, nativeQuery = true)
+    List<SymptomStatsRow> aggregateSymptoms(UUID userId, Instant from, Instant to, String unit, String zone);
+
+    @Modifying
+    @Query("delete from CompactEntry e where e.userId = :userId and e.occurredOn >= :from and e.occurredOn < :to")
+    int deleteByUserIdAndOccurredOnRange(UUID userId, Instant from, Instant to);
+
+    @Modifying
+    @Query("delete from CompactEntry e where e.userId = :userId")
+    int deleteAllByUserId(UUID userId);
+
+    @Modifying
+    @Query("delete from CompactEntry e where e.id = :id")
+    int deleteByIdIfPresent(UUID id);
+
+    @Modifying
+    @Query(value = "DELETE FROM compact_entries", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO compact_entries (id, user_id, occurred_on, upper_respiratory, lower_respiratory, skin, eyes, exposure_type_ids)
+            SELECT e.id, e.user_id, e.occurred_on,
+                   e.upper_respiratory_value, e.lower_respiratory_value, e.skin_value, e.eyes_value,
+                   ARRAY(SELECT x.exposure_type_id FROM entry_exposure_types x WHERE x.entry_id = e.id)
+            FROM entries e
+            """, nativeQuery = true)
+    int rebuildFromEntries();
+}
@@ -0,0 +1,111 @@
+package org.example.allergytracker.domain.entry.repository;
+
+import jakarta.persistence.LockModeType;
+import org.example.allergytracker.domain.entry.model.DailySymptomRollup;
+import org.example.allergytracker.domain.entry.model.DailySymptomRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface DailySymptomRollupRepository extends JpaRepository<DailySymptomRollup, DailySymptomRollupId> {
+
+    String REBUILD_SELECT = """
+            INSERT INTO daily_symptom_rollup (user_id, day, entry_count,
+                                              upper_respiratory_sum, upper_respiratory_max,
+                                              lower_respiratory_sum, lower_respiratory_max,
+                                              skin_sum, skin_max, eyes_sum, eyes_max,
+                                              total_sum, total_max, exposure_count)
+            SELECT e.user_id,
+                   e.day,
+                   count(*),
+                   sum(e.upper_respiratory_value), max(e.upper_respiratory_value),
+                   sum(e.lower_respiratory_value), max(e.lower_respiratory_value),
+                   sum(e.skin_value), max(e.skin_value),
+                   sum(e.eyes_value), max(e.eyes_value),
+                   sum(e.total_value), max(e.total_value),
+                   sum(e.exposure_count)
+            FROM (SELECT en.user_id,
+                         CAST(en.occurred_on AT TIME ZONE 'UTC' AS date) AS day,
+                         en.upper_respiratory_value,
+                         en.lower_respiratory_value,
+                         en.skin_value,
+                         en.eyes_value,
+                         en.upper_respiratory_value + en.lower_respiratory_value + en.skin_value + en.eyes_value AS total_value,
+                         (SELECT count(*) FROM entry_exposure_types x WHERE x.entry_id = en.id) AS exposure_count
+            """;
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO daily_symptom_rollup (user_id, day, entry_count,
+                                              upper_respiratory_sum, upper_respiratory_max,
+                                              lower_respiratory_sum, lower_respiratory_max,
+                                              skin_sum, skin_max, eyes_sum, eyes_max,
+                                              total_sum, total_max, exposure_count)
+            VALUES (:userId, :day, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    void insertIfAbsent(UUID userId, LocalDate day);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from DailySymptomRollup r where r.id = :id")
+    Optional<DailySymptomRollup> lockById(DailySymptomRollupId id);
+
+    @Query(value = """
+            SELECT CAST(CASE :unit
+                            WHEN 'week' THEN date_trunc('week', CAST(r.day AS timestamp))
+                            WHEN 'month' THEN date_trunc('month', CAST(r.day AS timestamp))
+                            ELSE CAST(r.day AS timestamp)
+                        END AS date) AS "bucket",
+                   sum(r.entry_count) AS "entryCount",
+                   sum(r.upper_respiratory_sum) AS "upperRespiratorySum",
+                   max(r.upper_respiratory_max) AS "upperRespiratoryMax",
+                   sum(r.lower_respiratory_sum) AS "lowerRespiratorySum",
+                   max(r.lower_respiratory_max) AS "lowerRespiratoryMax",
+                   sum(r.skin_sum) AS "skinSum",
+                   max(r.skin_max) AS "skinMax",
+                   sum(r.eyes_sum) AS "eyesSum",
+                   max(r.eyes_max) AS "eyesMax",
+                   sum(r.total_sum) AS "totalSum",
+                   max(r.total_max) AS "totalMax"
+            FROM daily_symptom_rollup r
+            WHERE r.user_id = :userId AND r.day >= :from AND r.day < :to
+            GROUP BY 1
+            ORDER BY 1
+            """, nativeQuery = true)
+    List<SymptomStatsRow> aggregate(UUID userId, LocalDate from, LocalDate to, String unit);
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_symptom_rollup", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @Query(value = REBUILD_SELECT + """
+                  FROM entries en
+                  WHERE en.occurred_on IS NOT NULL) e
+            GROUP BY e.user_id, e.day
+            """, nativeQuery = true)
+    int rebuildFromEntries();
+
+    @Modifying
+    @Query(value = REBUILD_SELECT + """
+                  FROM entries en
+                  WHERE en.user_id = :userId AND en.occurred_on >= :from AND en.occurred_on < :to) e
+            GROUP BY e.user_id, e.day
+            """, nativeQuery = true)
+    int rebuildFromEntries(UUID userId, Instant from, Instant to);
+
+    @Modifying
+    @Query("delete from DailySymptomRollup r where r.id.userId = :userId and r.id.day >= :from and r.id.day <= :to")
+    int deleteByUserIdAndDayRange(UUID userId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("delete from DailySymptomRollup r where r.id.userId = :userId")
+    int deleteAllByUserId(UUID userId);
+}
@@ -0,0 +1,46 @@
+package org.example.allergytracker.domain.entry.repository;
+
+import org.example.allergytracker.domain.entry.model.EntryDeletion;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface EntryDeletionRepository extends JpaRepository<EntryDeletion, UUID> {
+
+    @Query("""
+            select d from EntryDeletion d
+            where d.userId = :userId and d.deletedAt <= :upTo
+              and (d.deletedAt > :afterChangedAt or (d.deletedAt = :afterChangedAt and d.entryId > :afterId))
+            order by d.deletedAt, d.entryId
+            """)
+    List<EntryDeletion> findChangesAfter(UUID userId, Instant afterChangedAt, UUID afterId, Instant upTo, Limit limit);
+
+    // A plain insert; saving the new tombstone would merge it and read entry_deletions first.
+    @Modifying
+    @Query(value = """
+            INSERT INTO entry_deletions (entry_id, user_id, deleted_at)
+            VALUES (:entryId, :userId, :deletedAt)
+            """, nativeQuery = true)
+    void insert(UUID entryId, UUID userId, Instant deletedAt);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO entry_deletions (entry_id, user_id, deleted_at)
+            SELECT id, user_id, :deletedAt FROM entries
+            WHERE user_id = :userId AND occurred_on >= :from AND occurred_on < :to
+            """, nativeQuery = true)
+    int insertForOccurredOnRange(UUID userId, Instant from, Instant to, Instant deletedAt);
+
+    @Modifying
+    @Query("delete from EntryDeletion d where d.userId = :userId")
+    int deleteAllByUserId(UUID userId);
+
+    @Modifying
+    @Query("delete from EntryDeletion d where d.deletedAt < :cutoff")
+    int deleteByDeletedAtBefore(Instant cutoff);
+}
@@ -0,0 +1,6 @@
+package org.example.allergytracker.domain.entry.repository;
+
+import java.util.UUID;
+
+public record EntryExposureView(UUID entryId, String exposure) {
+}
@@ -1,16 +1,141 @@
 package org.example.allergytracker.domain.entry.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.allergytracker.domain.entry.model.Entry;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface EntryRepository extends JpaRepository<Entry, UUID> {
-    List<Entry> findByUserId(UUID userId);
 
+    String EXPORT_FETCH_SIZE = "500";
+    String ENTRY_VIEW_SELECT = """
+            select new org.example.allergytracker.domain.entry.repository.EntryView(
+                e.id, e.user.id, e.occurredOn,
+                e.upperRespiratory.value, e.lowerRespiratory.value, e.skin.value, e.eyes.value,
+                e.note.value, e.version)
+            from Entry e
+            """;
+
+    @Query(ENTRY_VIEW_SELECT + """
+            where e.user.id = :userId and e.occurredOn >= :from and e.occurredOn < :to
+            order by e.occurredOn desc, e.id desc
+            """)
+    List<EntryView> findFirstPage(UUID userId, Instant from, Instant to, Limit limit);
+
+    @Query(ENTRY_VIEW_SELECT + """
+            where e.user.id = :userId and e.occurredOn >= :from and e.occurredOn < :to
+              and (e.occurredOn < :afterOccurredOn or (e.occurredOn = :afterOccurredOn and e.id < :afterId))
+            order by e.occurredOn desc, e.id desc
+            """)
+    List<EntryView> findPageAfter(UUID userId, Instant from, Instant to, Instant afterOccurredOn, UUID afterId, Limit limit);
+
+    @Query("""
+            select new org.example.allergytracker.domain.entry.repository.EntryExposureView(e.id, x.value)
+            from Entry e join e.exposureTypes x
+            where e.id in :entryIds
+            """)
+    List<EntryExposureView> findExposureViews(Collection<UUID> entryIds);
+
+    @Query("select distinct e from Entry e left join fetch e.exposureTypes where e in :entries")
+    List<Entry> fetchExposureTypes(Collection<Entry> entries);
+
+    @Query("""
+            select e from Entry e
+            where e.user.id = :userId and e.updatedAt <= :upTo
+              and (e.updatedAt > :afterChangedAt or (e.updatedAt = :afterChangedAt and e.id > :afterId))
+            order by e.updatedAt, e.id
+            """)
+    List<Entry> findChangesAfter(UUID userId, Instant afterChangedAt, UUID afterId, Instant upTo, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from Entry e left join fetch e.exposureTypes where e.user.id = :userId order by e.occurredOn, e.id")
+    Stream<Entry> streamByUserId(UUID userId);
+
+    @Query(value = """
+            SELECT CAST(CASE :unit
+                            WHEN 'week' THEN date_trunc('week', e.local_time)
+                            WHEN 'month' THEN date_trunc('month', e.local_time)
+                            ELSE date_trunc('day', e.local_time)
+                        END AS date) AS "bucket",
+                   count(*) AS "entryCount",
+                   sum(e.upper_respiratory_value) AS "upperRespiratorySum",
+                   max(e.upper_respiratory_value) AS "upperRespiratoryMax",
+                   sum(e.lower_respiratory_value) AS "lowerRespiratorySum",
+                   max(e.lower_respiratory_value) AS "lowerRespiratoryMax",
+                   sum(e.skin_value) AS "skinSum",
+                   max(e.skin_value) AS "skinMax",
+                   sum(e.eyes_value) AS "eyesSum",
+                   max(e.eyes_value) AS "eyesMax",
+                   sum(e.total_value) AS "totalSum",
+                   max(e.total_value) AS "totalMax"
+            FROM (SELECT CAST(occurred_on AT TIME ZONE :zone AS timestamp) AS local_time,
+                         upper_respiratory_value,
+                         lower_respiratory_value,
+                         skin_value,
+                         eyes_value,
+                         upper_respiratory_value + lower_respiratory_value + skin_value + eyes_value AS total_value
+                  FROM entries
+                  WHERE user_id = :userId AND occurred_on >= :from AND occurred_on < :to) e
+            GROUP BY 1
+            ORDER BY 1
+            """, nativeQuery = true)
+    List<SymptomStatsRow> aggregateSymptoms(UUID userId, Instant from, Instant to, String unit, String zone);
+
+    @EntityGraph(attributePaths = "exposureTypes")
     Optional<Entry> findByIdAndUserId(UUID id, UUID userId);
 
-    void deleteByIdAndUserId(UUID id, UUID userId);
+    @Query("""
+            select new org.example.allergytracker.domain.entry.repository.EntryScores(
+                e.user.id, e.occurredOn,
+                e.upperRespiratory.value, e.lowerRespiratory.value, e.skin.value, e.eyes.value,
+                size(e.exposureTypes))
+            from Entry e
+            where e.id = :id and e.user.id = :userId
+            """)
+    Optional<EntryScores> findScoresByIdAndUserId(UUID id, UUID userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM entry_exposure_types WHERE entry_id = :entryId", nativeQuery = true)
+    int deleteExposureLinksByEntryId(UUID entryId);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM entry_exposure_types
+            WHERE entry_id IN (SELECT id FROM entries WHERE user_id = :userId AND occurred_on >= :from AND occurred_on < :to)
+            """, nativeQuery = true)
+    int deleteExposureLinksByUserIdAndOccurredOnRange(UUID userId, Instant from, Instant to);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM entry_exposure_types
+            WHERE entry_id IN (SELECT id FROM entries WHERE user_id = :userId)
+            """, nativeQuery = true)
+    int deleteExposureLinksByUserId(UUID userId);
+
+    @Modifying
+    @Query("delete from Entry e where e.id = :id and e.user.id = :userId")
+    int deleteByIdAndUserId(UUID id, UUID userId);
+
+    @Modifying
+    @Query("delete from Entry e where e.user.id = :userId and e.occurredOn >= :from and e.occurredOn < :to")
+    int deleteByUserIdAndOccurredOnRange(UUID userId, Instant from, Instant to);
+
+    @Modifying
+    @Query("delete from Entry e where e.user.id = :userId")
+    int deleteAllByUserId(UUID userId);
 }
@@ -0,0 +1,50 @@
+package org.example.allergytracker.domain.entry.repository;
+
+import org.example.allergytracker.domain.entry.model.DailySymptomRollupId;
+import org.example.allergytracker.domain.entry.model.Entry;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+public record EntryScores(
+        UUID userId,
+        LocalDate day,
+        int upperRespiratory,
+        int lowerRespiratory,
+        int skin,
+        int eyes,
+        int exposures
+) {
+
+  public EntryScores(UUID userId, Instant occurredOn, int upperRespiratory, int lowerRespiratory, int skin, int eyes, int exposures) {
+    this(userId, occurredOn != null ? LocalDate.ofInstant(occurredOn, ZoneOffset.UTC) : null,
+            upperRespiratory, lowerRespiratory, skin, eyes, exposures);
+  }
+
+  public static EntryScores of(Entry entry) {
+    return new EntryScores(
+            entry.userId(),
+            entry.occurredOn(),
+            entry.upperRespiratory().value(),
+            entry.lowerRespiratory().value(),
+            entry.skin().value(),
+            entry.eyes().value(),
+            entry.exposureTypes() != null ? entry.exposureTypes().size() : 0
+    );
+  }
+
+  // Undated entries belong to no day and are left out of the rollup.
+  public boolean dated() {
+    return day != null;
+  }
+
+  public DailySymptomRollupId rollupId() {
+    return new DailySymptomRollupId(userId, day);
+  }
+
+  public int total() {
+    return upperRespiratory + lowerRespiratory + skin + eyes;
+  }
+}
@@ -0,0 +1,27 @@
+package org.example.allergytracker.domain.entry.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record EntryView(
+        UUID id,
+        UUID userId,
+        Instant occurredOn,
+        int upperRespiratory,
+        int lowerRespiratory,
+        int skin,
+        int eyes,
+        String note,
+        Long version,
+        List<String> exposures
+) {
+
+  public EntryView(UUID id, UUID userId, Instant occurredOn, int upperRespiratory, int lowerRespiratory, int skin, int eyes, String note, Long version) {
+    this(id, userId, occurredOn, upperRespiratory, lowerRespiratory, skin, eyes, note, version, List.of());
+  }
+
+  public EntryView withExposures(List<String> exposures) {
+    return new EntryView(id, userId, occurredOn, upperRespiratory, lowerRespiratory, skin, eyes, note, version, exposures);
+  }
+}
@@ -0,0 +1,29 @@
+package org.example.allergytracker.domain.entry.repository;
+
+import java.time.LocalDate;
+
+public interface SymptomStatsRow {
+  LocalDate getBucket();
+
+  long getEntryCount();
+
+  long getUpperRespiratorySum();
+
+  int getUpperRespiratoryMax();
+
+  long getLowerRespiratorySum();
+
+  int getLowerRespiratoryMax();
+
+  long getSkinSum();
+
+  int getSkinMax();
+
+  long getEyesSum();
+
+  int getEyesMax();
+
+  long getTotalSum();
+
+  int getTotalMax();
+}
@@ -0,0 +1,22 @@
+package org.example.allergytracker.domain.entry.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class CompactEntryRebuildRunner implements ApplicationRunner {
+
+  static final String REBUILD_OPTION = "rebuild-compact-entries";
+
+  private final CompactEntryService compactEntryService;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (args.containsOption(REBUILD_OPTION)) {
+      compactEntryService.rebuild();
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package org.example.allergytracker.domain.entry.service;
+
+import org.example.allergytracker.domain.entry.model.CompactEntry;
+import org.example.allergytracker.domain.entry.model.Entry;
+import org.example.allergytracker.domain.entry.repository.CompactEntryRepository;
+import org.example.allergytracker.domain.entry.repository.SymptomStatsRow;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+@Service
+public class CompactEntryService {
+
+  private static final Logger LOGGER = getLogger(CompactEntryService.class);
+
+  private final CompactEntryRepository compactEntryRepository;
+  private final boolean enabled;
+
+  public CompactEntryService(
+          CompactEntryRepository compactEntryRepository,
+          @Value("${entries.compact-storage.enabled:false}") boolean enabled
+  ) {
+    this.compactEntryRepository = compactEntryRepository;
+    this.enabled = enabled;
+  }
+
+  // Only decides where stats are read from: writes keep compact_entries current either way, so turning it on needs
+  // no rebuild.
+  public boolean enabled() {
+    return enabled;
+  }
+
+  @Transactional(readOnly = true)
+  public List<SymptomStatsRow> aggregate(UUID userId, Instant from, Instant to, StatsGranularity granularity, ZoneId zone) {
+    return compactEntryRepository.aggregateSymptoms(userId, from, to, granularity.unit(), zone.getId());
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  void addAll(List<Entry> entries) {
+    compactEntryRepository.saveAll(entries.stream().map(CompactEntry::of).toList());
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  void update(Entry entry) {
+    compactEntryRepository.findById(entry.id()).ifPresentOrElse(
+            compactEntry -> compactEntry.copyFrom(entry),
+            () -> compactEntryRepository.save(CompactEntry.of(entry))
+    );
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  void deleteById(UUID id) {
+    compactEntryRepository.deleteByIdIfPresent(id);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  void deleteByUserIdAndOccurredOnRange(UUID userId, Instant from, Instant to) {
+    compactEntryRepository.deleteByUserIdAndOccurredOnRange(userId, from, to);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  void deleteAllByUserId(UUID userId) {
+    compactEntryRepository.deleteAllByUserId(userId);
+  }
+
+  @Transactional
+  public int rebuild() {
+    var removed = compactEntryRepository.deleteAllRows();
+    var inserted = compactEntryRepository.rebuildFromEntries();
+    LOGGER.info("Rebuilt {}: removed {} rows, inserted {} rows", CompactEntry.TABLE_NAME, removed, inserted);
+    return inserted;
+  }
+}
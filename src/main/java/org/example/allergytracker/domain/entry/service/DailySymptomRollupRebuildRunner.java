@@ -0,0 +1,22 @@
+package org.example.allergytracker.domain.entry.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class DailySymptomRollupRebuildRunner implements ApplicationRunner {
+
+  static final String REBUILD_OPTION = "rebuild-daily-rollup";
+
+  private final DailySymptomRollupService dailySymptomRollupService;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (args.containsOption(REBUILD_OPTION)) {
+      dailySymptomRollupService.rebuild();
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package org.example.allergytracker.domain.entry.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.allergytracker.domain.entry.model.DailySymptomRollup;
+import org.example.allergytracker.domain.entry.repository.DailySymptomRollupRepository;
+import org.example.allergytracker.domain.entry.repository.EntryRepository;
+import org.example.allergytracker.domain.entry.repository.EntryScores;
+import org.example.allergytracker.domain.entry.repository.SymptomStatsRow;
+import org.slf4j.Logger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+@Service
+@RequiredArgsConstructor
+public class DailySymptomRollupService {
+
+  private static final Logger LOGGER = getLogger(DailySymptomRollupService.class);
+  private static final String DAY_UNIT = "day";
+  private static final String UTC = "UTC";
+
+  private final DailySymptomRollupRepository rollupRepository;
+  private final EntryRepository entryRepository;
+
+  @Transactional(readOnly = true)
+  public List<SymptomStatsRow> aggregate(UUID userId, LocalDate from, LocalDate to, StatsGranularity granularity) {
+    return rollupRepository.aggregate(userId, from, to, granularity.unit());
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  void add(EntryScores scores) {
+    addAll(List.of(scores));
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  void addAll(List<EntryScores> scores) {
+    // One upsert and row lock per touched day, however many entries land on it.
+    var scoresByDay = scores.stream()
+            .filter(EntryScores::dated)
+            .collect(Collectors.groupingBy(EntryScores::rollupId));
+    scoresByDay.forEach((id, dayScores) -> {
+      rollupRepository.insertIfAbsent(id.userId(), id.day());
+      var rollup = rollupRepository.lockById(id).orElseThrow();
+      dayScores.forEach(entryScores -> add(rollup, entryScores));
+    });
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  void remove(EntryScores scores) {
+    if (!scores.dated()) {
+      return;
+    }
+    var locked = rollupRepository.lockById(scores.rollupId());
+    if (locked.isEmpty()) {
+      return;
+    }
+    var rollup = locked.get();
+    if (rollup.entryCount() <= 1) {
+      rollupRepository.delete(rollup);
+      return;
+    }
+
+    rollup.entryCount(rollup.entryCount() - 1);
+    rollup.upperRespiratorySum(rollup.upperRespiratorySum() - scores.upperRespiratory());
+    rollup.lowerRespiratorySum(rollup.lowerRespiratorySum() - scores.lowerRespiratory());
+    rollup.skinSum(rollup.skinSum() - scores.skin());
+    rollup.eyesSum(rollup.eyesSum() - scores.eyes());
+    rollup.totalSum(rollup.totalSum() - scores.total());
+    rollup.exposureCount(rollup.exposureCount() - scores.exposures());
+
+    // A maximum can only be lowered by looking at the remaining entries of that day.
+    if (scores.upperRespiratory() >= rollup.upperRespiratoryMax()
+            || scores.lowerRespiratory() >= rollup.lowerRespiratoryMax()
+            || scores.skin() >= rollup.skinMax()
+            || scores.eyes() >= rollup.eyesMax()
+            || scores.total() >= rollup.totalMax()) {
+      recomputeMaxima(rollup);
+    }
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  void recompute(UUID userId, Instant from, Instant to) {
+    var firstDay = LocalDate.ofInstant(from, ZoneOffset.UTC);
+    var lastDay = LocalDate.ofInstant(to.minusNanos(1), ZoneOffset.UTC);
+    rollupRepository.deleteByUserIdAndDayRange(userId, firstDay, lastDay);
+    // Whole days are rebuilt, so entries outside [from, to) on the edge days are counted again.
+    rollupRepository.rebuildFromEntries(
+            userId,
+            firstDay.atStartOfDay(ZoneOffset.UTC).toInstant(),
+            lastDay.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant()
+    );
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  void deleteAllByUserId(UUID userId) {
+    rollupRepository.deleteAllByUserId(userId);
+  }
+
+  @Transactional
+  public int rebuild() {
+    var removed = rollupRepository.deleteAllRows();
+    var inserted = rollupRepository.rebuildFromEntries();
+    LOGGER.info("Rebuilt {}: removed {} rows, inserted {} rows", DailySymptomRollup.TABLE_NAME, removed, inserted);
+    return inserted;
+  }
+
+  private static void add(DailySymptomRollup rollup, EntryScores scores) {
+    rollup.entryCount(rollup.entryCount() + 1);
+    rollup.upperRespiratorySum(rollup.upperRespiratorySum() + scores.upperRespiratory());
+    rollup.upperRespiratoryMax(Math.max(rollup.upperRespiratoryMax(), scores.upperRespiratory()));
+    rollup.lowerRespiratorySum(rollup.lowerRespiratorySum() + scores.lowerRespiratory());
+    rollup.lowerRespiratoryMax(Math.max(rollup.lowerRespiratoryMax(), scores.lowerRespiratory()));
+    rollup.skinSum(rollup.skinSum() + scores.skin());
+    rollup.skinMax(Math.max(rollup.skinMax(), scores.skin()));
+    rollup.eyesSum(rollup.eyesSum() + scores.eyes());
+    rollup.eyesMax(Math.max(rollup.eyesMax(), scores.eyes()));
+    rollup.totalSum(rollup.totalSum() + scores.total());
+    rollup.totalMax(Math.max(rollup.totalMax(), scores.total()));
+    rollup.exposureCount(rollup.exposureCount() + scores.exposures());
+  }
+
+  private void recomputeMaxima(DailySymptomRollup rollup) {
+    entryRepository.flush();
+    var day = rollup.id().day();
+    var from = day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    var to = day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    entryRepository.aggregateSymptoms(rollup.id().userId(), from, to, DAY_UNIT, UTC).stream()
+            .findFirst()
+            .ifPresent(row -> {
+              rollup.upperRespiratoryMax(row.getUpperRespiratoryMax());
+              rollup.lowerRespiratoryMax(row.getLowerRespiratoryMax());
+              rollup.skinMax(row.getSkinMax());
+              rollup.eyesMax(row.getEyesMax());
+              rollup.totalMax(row.getTotalMax());
+            });
+  }
+}
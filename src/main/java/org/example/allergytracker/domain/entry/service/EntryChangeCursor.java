@@ -0,0 +1,30 @@
+package org.example.allergytracker.domain.entry.service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record EntryChangeCursor(Instant changedAt, UUID id) implements Comparable<EntryChangeCursor> {
+
+  static final EntryChangeCursor START = new EntryChangeCursor(Instant.EPOCH, new UUID(0, 0));
+  static final UUID LAST_ID = new UUID(-1, -1);
+
+  public String encode() {
+    return new EntryCursor(changedAt, id).encode();
+  }
+
+  public static EntryChangeCursor decode(String cursor) {
+    var decoded = EntryCursor.decode(cursor);
+    return new EntryChangeCursor(decoded.occurredOn(), decoded.id());
+  }
+
+  @Override
+  public int compareTo(EntryChangeCursor other) {
+    var byTime = changedAt.compareTo(other.changedAt);
+    if (byTime != 0) {
+      return byTime;
+    }
+    // Same order as the database compares uuid columns, unlike UUID.compareTo which is signed.
+    var byHigh = Long.compareUnsigned(id.getMostSignificantBits(), other.id.getMostSignificantBits());
+    return byHigh != 0 ? byHigh : Long.compareUnsigned(id.getLeastSignificantBits(), other.id.getLeastSignificantBits());
+  }
+}
@@ -0,0 +1,9 @@
+package org.example.allergytracker.domain.entry.service;
+
+import org.example.allergytracker.domain.entry.model.Entry;
+
+import java.util.List;
+import java.util.UUID;
+
+public record EntryChanges(List<Entry> changed, List<UUID> deleted, EntryChangeCursor cursor, boolean hasMore) {
+}
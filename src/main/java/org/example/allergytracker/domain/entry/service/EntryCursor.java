@@ -0,0 +1,35 @@
+package org.example.allergytracker.domain.entry.service;
+
+import org.example.allergytracker.exception.entry.InvalidEntryCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+public record EntryCursor(Instant occurredOn, UUID id) {
+
+  private static final String SEPARATOR = "|";
+
+  public String encode() {
+    var raw = occurredOn.toString() + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static EntryCursor decode(String cursor) {
+    try {
+      var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      var separatorIndex = raw.indexOf(SEPARATOR);
+      if (separatorIndex < 0) {
+        throw new InvalidEntryCursorException(cursor);
+      }
+      return new EntryCursor(
+              Instant.parse(raw.substring(0, separatorIndex)),
+              UUID.fromString(raw.substring(separatorIndex + 1))
+      );
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new InvalidEntryCursorException(cursor);
+    }
+  }
+}
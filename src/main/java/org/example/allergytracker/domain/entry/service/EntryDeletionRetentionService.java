@@ -0,0 +1,52 @@
+package org.example.allergytracker.domain.entry.service;
+
+import org.example.allergytracker.domain.entry.repository.EntryDeletionRepository;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+@Service
+public class EntryDeletionRetentionService {
+
+  private static final Logger LOGGER = getLogger(EntryDeletionRetentionService.class);
+
+  private final EntryDeletionRepository entryDeletionRepository;
+  private final Duration retention;
+
+  public EntryDeletionRetentionService(
+          EntryDeletionRepository entryDeletionRepository,
+          @Value("${entries.deletions.retention:30d}") Duration retention
+  ) {
+    this.entryDeletionRepository = entryDeletionRepository;
+    this.retention = retention;
+  }
+
+  // Deletions before the horizon may already be purged, so a cursor older than that can miss them.
+  public boolean isExpired(EntryChangeCursor cursor) {
+    return cursor.changedAt().isBefore(horizon());
+  }
+
+  @Scheduled(
+          initialDelayString = "${entries.deletions.purge-interval:1h}",
+          fixedDelayString = "${entries.deletions.purge-interval:1h}"
+  )
+  @Transactional
+  public int purge() {
+    var purged = entryDeletionRepository.deleteByDeletedAtBefore(horizon());
+    if (purged > 0) {
+      LOGGER.info("Purged {} entry deletions older than {}", purged, retention);
+    }
+    return purged;
+  }
+
+  private Instant horizon() {
+    return Instant.now().minus(retention);
+  }
+}
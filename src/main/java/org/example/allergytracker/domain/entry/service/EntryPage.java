@@ -0,0 +1,9 @@
+package org.example.allergytracker.domain.entry.service;
+
+import org.example.allergytracker.domain.entry.repository.EntryView;
+
+import java.util.List;
+import java.util.Optional;
+
+public record EntryPage(List<EntryView> entries, Optional<EntryCursor> nextCursor) {
+}
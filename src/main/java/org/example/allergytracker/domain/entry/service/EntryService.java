@@ -1,27 +1,132 @@
 package org.example.allergytracker.domain.entry.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.example.allergytracker.domain.entry.model.Entry;
+import org.example.allergytracker.domain.entry.model.EntryDeletion;
+import org.example.allergytracker.domain.entry.model.ExposureType;
+import org.example.allergytracker.domain.entry.repository.EntryDeletionRepository;
+import org.example.allergytracker.domain.entry.repository.EntryExposureView;
 import org.example.allergytracker.domain.entry.repository.EntryRepository;
+import org.example.allergytracker.domain.entry.repository.EntryScores;
+import org.example.allergytracker.domain.entry.repository.EntryView;
+import org.example.allergytracker.domain.entry.repository.ExposureTypeRepository;
 import org.example.allergytracker.domain.user.repository.UserRepository;
 import org.example.allergytracker.exception.auth.UserNotFoundException;
+import org.example.allergytracker.exception.entry.EntryChangeCursorExpiredException;
 import org.example.allergytracker.exception.entry.EntryNotFoundException;
+import org.example.allergytracker.exception.entry.EntryVersionConflictException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class EntryService {
 
+  public static final int MAX_PAGE_SIZE = 500;
+
+  static final Instant EARLIEST_OCCURRED_ON = Instant.parse("1900-01-01T00:00:00Z");
+  static final Instant LATEST_OCCURRED_ON = Instant.parse("9999-12-31T00:00:00Z");
+  static final Duration CHANGES_SETTLE_TIME = Duration.ofSeconds(5);
+  static final String USER_FOREIGN_KEY = "fk_entries_user";
+
   private final EntryRepository entryRepository;
+  private final EntryDeletionRepository entryDeletionRepository;
+  private final ExposureTypeRepository exposureTypeRepository;
   private final UserRepository userRepository;
+  private final EntityManager entityManager;
+  private final DailySymptomRollupService dailySymptomRollupService;
+  private final CompactEntryService compactEntryService;
+  private final EntryDeletionRetentionService entryDeletionRetentionService;
+
+  @Transactional(readOnly = true)
+  public EntryPage findPageByUserId(UUID userId, Instant from, Instant to, EntryCursor after, int pageSize) {
+    var lowerBound = from != null ? from : EARLIEST_OCCURRED_ON;
+    var upperBound = to != null ? to : LATEST_OCCURRED_ON;
+    var size = Math.clamp(pageSize, 1, MAX_PAGE_SIZE);
+    // One extra row tells us whether another page exists without a count query.
+    var limit = Limit.of(size + 1);
+
+    var entries = after == null
+            ? entryRepository.findFirstPage(userId, lowerBound, upperBound, limit)
+            : entryRepository.findPageAfter(userId, lowerBound, upperBound, after.occurredOn(), after.id(), limit);
 
-  public List<Entry> findAllByUserId(UUID userId) {
-    return entryRepository.findByUserId(userId);
+    var page = withExposures(entries.size() > size ? entries.subList(0, size) : entries);
+    if (entries.size() <= size) {
+      return new EntryPage(page, Optional.empty());
+    }
+    var last = page.getLast();
+    return new EntryPage(page, Optional.of(new EntryCursor(last.occurredOn(), last.id())));
+  }
+
+  @Transactional(readOnly = true)
+  public EntryChanges findChangesByUserId(UUID userId, EntryChangeCursor after, int pageSize) {
+    if (after != null && entryDeletionRetentionService.isExpired(after)) {
+      throw new EntryChangeCursorExpiredException();
+    }
+    var since = after != null ? after : EntryChangeCursor.START;
+    var size = Math.clamp(pageSize, 1, MAX_PAGE_SIZE);
+    var limit = Limit.of(size + 1);
+    // updatedAt is stamped before commit, so the newest rows may still be joined by slower transactions.
+    var upTo = Instant.now().minus(CHANGES_SETTLE_TIME);
+
+    var changed = entryRepository.findChangesAfter(userId, since.changedAt(), since.id(), upTo, limit);
+    var deleted = entryDeletionRepository.findChangesAfter(userId, since.changedAt(), since.id(), upTo, limit);
+
+    var pageChanged = new ArrayList<Entry>();
+    var pageDeleted = new ArrayList<UUID>();
+    var cursor = since;
+    int changedIndex = 0;
+    int deletedIndex = 0;
+    while (pageChanged.size() + pageDeleted.size() < size
+            && (changedIndex < changed.size() || deletedIndex < deleted.size())) {
+      var nextChanged = changedIndex < changed.size() ? changeCursorOf(changed.get(changedIndex)) : null;
+      var nextDeleted = deletedIndex < deleted.size() ? changeCursorOf(deleted.get(deletedIndex)) : null;
+      if (nextDeleted == null || (nextChanged != null && nextChanged.compareTo(nextDeleted) < 0)) {
+        pageChanged.add(changed.get(changedIndex++));
+        cursor = nextChanged;
+      } else {
+        pageDeleted.add(deleted.get(deletedIndex++).entryId());
+        cursor = nextDeleted;
+      }
+    }
+
+    if (!pageChanged.isEmpty()) {
+      entryRepository.fetchExposureTypes(pageChanged);
+    }
+    var hasMore = changedIndex < changed.size() || deletedIndex < deleted.size();
+    if (!hasMore) {
+      // Everything up to upTo has been returned, so an idle client's cursor keeps up with the deletion retention.
+      var caughtUp = new EntryChangeCursor(upTo, EntryChangeCursor.LAST_ID);
+      cursor = cursor.compareTo(caughtUp) < 0 ? caughtUp : cursor;
+    }
+    return new EntryChanges(pageChanged, pageDeleted, cursor, hasMore);
+  }
+
+  @Transactional(readOnly = true)
+  public void forEachByUserId(UUID userId, Consumer<Entry> action) {
+    try (var entries = entryRepository.streamByUserId(userId)) {
+      entries.forEach(entry -> {
+        action.accept(entry);
+        // Keeps the persistence context from growing with the user's history.
+        entityManager.detach(entry);
+      });
+    }
   }
 
   public Optional<Entry> findByIdAndUserId(UUID id, UUID userId) {
@@ -30,18 +135,147 @@ public class EntryService {
 
   @Transactional
   public Entry save(Entry entry, UUID userId) {
-    var user = userRepository.findById(userId)
-            .orElseThrow(() -> new UserNotFoundException(userId));
+    entry.user(userRepository.getReferenceById(userId));
+    loadExposureTypes(List.of(entry));
+    entry.exposureTypes(references(entry.exposureTypes()));
+    var saved = entryRepository.save(entry);
+    flushNewEntries(userId);
+    dailySymptomRollupService.add(EntryScores.of(saved));
+    compactEntryService.addAll(List.of(saved));
+    return saved;
+  }
+
+  @Transactional
+  public Entry update(UUID id, UUID userId, Entry changes) {
+    var entry = entryRepository.findByIdAndUserId(id, userId)
+            .orElseThrow(() -> new EntryNotFoundException(id));
+    if (changes.version() != null && !changes.version().equals(entry.version())) {
+      throw new EntryVersionConflictException(id);
+    }
+    var previous = EntryScores.of(entry);
+
+    entry.occurredOn(changes.occurredOn());
+    entry.upperRespiratory(changes.upperRespiratory());
+    entry.lowerRespiratory(changes.lowerRespiratory());
+    entry.skin(changes.skin());
+    entry.eyes(changes.eyes());
+    entry.note(changes.note().orElse(null));
+    entry.updatedAt(Instant.now());
+    // Editing the set in place leaves it clean when the exposures are unchanged, so no join rows are written.
+    var exposureTypes = references(changes.exposureTypes());
+    entry.exposureTypes().retainAll(exposureTypes);
+    entry.exposureTypes().addAll(exposureTypes);
 
-    entry.user(user);
-    return entryRepository.save(entry);
+    try {
+      // Surfaces a concurrent edit here, as the version check of the UPDATE, rather than at commit.
+      entryRepository.flush();
+    } catch (OptimisticLockingFailureException e) {
+      throw new EntryVersionConflictException(id);
+    }
+    dailySymptomRollupService.remove(previous);
+    dailySymptomRollupService.add(EntryScores.of(entry));
+    compactEntryService.update(entry);
+    return entry;
+  }
+
+  @Transactional
+  public List<Entry> saveAll(List<Entry> entries, UUID userId) {
+    var user = userRepository.getReferenceById(userId);
+
+    loadExposureTypes(entries);
+    entries.forEach(entry -> {
+      entry.user(user);
+      entry.exposureTypes(references(entry.exposureTypes()));
+    });
+    var saved = entryRepository.saveAll(entries);
+    flushNewEntries(userId);
+    dailySymptomRollupService.addAll(saved.stream().map(EntryScores::of).toList());
+    compactEntryService.addAll(saved);
+    return saved;
   }
 
   @Transactional
   public void deleteByIdAndUserId(UUID id, UUID userId) {
-    if (entryRepository.findByIdAndUserId(id, userId).isEmpty()) {
-      throw new EntryNotFoundException(id);
-    }
+    var scores = entryRepository.findScoresByIdAndUserId(id, userId)
+            .orElseThrow(() -> new EntryNotFoundException(id));
+    entryDeletionRepository.insert(id, userId, Instant.now());
+    entryRepository.deleteExposureLinksByEntryId(id);
     entryRepository.deleteByIdAndUserId(id, userId);
+    dailySymptomRollupService.remove(scores);
+    compactEntryService.deleteById(id);
+  }
+
+  @Transactional
+  public int deleteByUserIdAndOccurredOnRange(UUID userId, Instant from, Instant to) {
+    entryDeletionRepository.insertForOccurredOnRange(userId, from, to, Instant.now());
+    entryRepository.deleteExposureLinksByUserIdAndOccurredOnRange(userId, from, to);
+    var deleted = entryRepository.deleteByUserIdAndOccurredOnRange(userId, from, to);
+    if (deleted > 0) {
+      dailySymptomRollupService.recompute(userId, from, to);
+      compactEntryService.deleteByUserIdAndOccurredOnRange(userId, from, to);
+    }
+    return deleted;
+  }
+
+  @Transactional
+  public int deleteAllByUserId(UUID userId) {
+    entryRepository.deleteExposureLinksByUserId(userId);
+    var deleted = entryRepository.deleteAllByUserId(userId);
+    entryDeletionRepository.deleteAllByUserId(userId);
+    dailySymptomRollupService.deleteAllByUserId(userId);
+    compactEntryService.deleteAllByUserId(userId);
+    return deleted;
+  }
+
+  private void flushNewEntries(UUID userId) {
+    try {
+      // The user is only a reference, so an account deleted after its token was issued shows up as a foreign key violation.
+      entryRepository.flush();
+    } catch (DataIntegrityViolationException e) {
+      if (e.getCause() instanceof ConstraintViolationException violation
+              && USER_FOREIGN_KEY.equalsIgnoreCase(violation.getConstraintName())) {
+        throw new UserNotFoundException(userId);
+      }
+      throw e;
+    }
+  }
+
+  // New entries are answered with their exposure names; loading the types up front reads them in one query
+  // instead of initializing each reference on its own.
+  private void loadExposureTypes(List<Entry> entries) {
+    exposureTypeRepository.findAllById(entries.stream()
+            .flatMap(entry -> entry.exposureTypes().stream())
+            .map(ExposureType::id)
+            .collect(Collectors.toSet()));
+  }
+
+  // The given exposure types come from the shared catalog; the entry links references owned by this persistence context.
+  private Set<ExposureType> references(Set<ExposureType> exposureTypes) {
+    return exposureTypes.stream()
+            .map(exposureType -> exposureTypeRepository.getReferenceById(exposureType.id()))
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  private List<EntryView> withExposures(List<EntryView> entries) {
+    if (entries.isEmpty()) {
+      return entries;
+    }
+    // Exposures of the whole page arrive in one round trip instead of one query per entry.
+    var exposuresByEntryId = entryRepository.findExposureViews(entries.stream().map(EntryView::id).toList()).stream()
+            .collect(Collectors.groupingBy(
+                    EntryExposureView::entryId,
+                    Collectors.mapping(EntryExposureView::exposure, Collectors.toList())
+            ));
+    return entries.stream()
+            .map(entry -> entry.withExposures(exposuresByEntryId.getOrDefault(entry.id(), List.of())))
+            .toList();
+  }
+
+  private static EntryChangeCursor changeCursorOf(Entry entry) {
+    return new EntryChangeCursor(entry.updatedAt(), entry.id());
+  }
+
+  private static EntryChangeCursor changeCursorOf(EntryDeletion deletion) {
+    return new EntryChangeCursor(deletion.deletedAt(), deletion.entryId());
   }
 }
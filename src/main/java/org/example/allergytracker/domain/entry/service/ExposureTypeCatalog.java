@@ -0,0 +1,53 @@
+package org.example.allergytracker.domain.entry.service;
+
+import org.example.allergytracker.domain.entry.model.ExposureType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public record ExposureTypeCatalog(
+        long version,
+        List<ExposureType> exposureTypes,
+        Map<String, ExposureType> byValue,
+        Map<UUID, ExposureType> byId
+) {
+
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+
+  static ExposureTypeCatalog of(List<ExposureType> exposureTypes) {
+    return new ExposureTypeCatalog(
+            versionOf(exposureTypes),
+            List.copyOf(exposureTypes),
+            exposureTypes.stream().collect(Collectors.toUnmodifiableMap(ExposureType::value, Function.identity())),
+            exposureTypes.stream().collect(Collectors.toUnmodifiableMap(ExposureType::id, Function.identity()))
+    );
+  }
+
+  // Hashes the rows themselves, so every instance publishes the same version for the same catalog.
+  private static long versionOf(List<ExposureType> exposureTypes) {
+    var digest = messageDigest();
+    exposureTypes.stream()
+            .sorted(Comparator.comparing(ExposureType::id))
+            .forEach(exposureType -> digest.update(
+                    (exposureType.id() + "\t" + exposureType.value() + "\t" + Objects.toString(exposureType.description(), "") + "\n")
+                            .getBytes(StandardCharsets.UTF_8)));
+    return ByteBuffer.wrap(digest.digest()).getLong();
+  }
+
+  private static MessageDigest messageDigest() {
+    try {
+      return MessageDigest.getInstance(DIGEST_ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(DIGEST_ALGORITHM + " is not available", e);
+    }
+  }
+}
@@ -3,39 +3,87 @@ package org.example.allergytracker.domain.entry.service;
 import lombok.RequiredArgsConstructor;
 import org.example.allergytracker.domain.entry.model.ExposureType;
 import org.example.allergytracker.domain.entry.repository.ExposureTypeRepository;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @RequiredArgsConstructor
 public class ExposureTypeService {
 
   private final ExposureTypeRepository exposureTypeRepository;
+  private final AtomicReference<ExposureTypeCatalog> catalog = new AtomicReference<>();
+
+  public ExposureTypeCatalog catalog() {
+    var current = catalog.get();
+    return current != null ? current : loadIfAbsent();
+  }
 
   public List<ExposureType> findAll() {
-    return exposureTypeRepository.findAll();
+    return catalog().exposureTypes();
   }
 
   public Optional<ExposureType> findById(UUID id) {
-    return exposureTypeRepository.findById(id);
+    return Optional.ofNullable(catalog().byId().get(id));
   }
 
   public Optional<ExposureType> findByValue(String value) {
-    return exposureTypeRepository.findByValue(value);
+    return Optional.ofNullable(catalog().byValue().get(value));
+  }
+
+  public List<ExposureType> findAllByValues(Collection<String> values) {
+    var byValue = catalog().byValue();
+    return values.stream()
+            .map(byValue::get)
+            .filter(Objects::nonNull)
+            .toList();
   }
 
   public ExposureType save(ExposureType exposureType) {
-    return exposureTypeRepository.save(exposureType);
+    var saved = exposureTypeRepository.save(exposureType);
+    reload();
+    return saved;
   }
 
   public void deleteById(UUID id) {
     exposureTypeRepository.deleteById(id);
+    reload();
   }
 
   public boolean existsById(UUID id) {
-    return exposureTypeRepository.existsById(id);
+    return catalog().byId().containsKey(id);
+  }
+
+  // Picks up rows changed through another instance or directly in the database.
+  @Scheduled(
+          initialDelayString = "${exposure-types.catalog.refresh-interval:30s}",
+          fixedDelayString = "${exposure-types.catalog.refresh-interval:30s}"
+  )
+  public void refresh() {
+    if (catalog.get() != null) {
+      reload();
+    }
+  }
+
+  private synchronized ExposureTypeCatalog loadIfAbsent() {
+    var current = catalog.get();
+    return current != null ? current : reload();
+  }
+
+  private synchronized ExposureTypeCatalog reload() {
+    var previous = catalog.get();
+    var next = ExposureTypeCatalog.of(exposureTypeRepository.findAll());
+    // An unchanged catalog keeps the published instance.
+    if (previous != null && previous.version() == next.version()) {
+      return previous;
+    }
+    catalog.set(next);
+    return next;
   }
 }
@@ -0,0 +1,26 @@
+package org.example.allergytracker.domain.entry.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Accessors;
+import org.example.allergytracker.exception.entry.InvalidStatsRequestException;
+
+import java.util.Arrays;
+
+@Getter
+@Accessors(fluent = true)
+@RequiredArgsConstructor
+public enum StatsGranularity {
+  DAY("day"),
+  WEEK("week"),
+  MONTH("month");
+
+  private final String unit;
+
+  public static StatsGranularity fromUnit(String unit) {
+    return Arrays.stream(values())
+            .filter(granularity -> granularity.unit.equalsIgnoreCase(unit))
+            .findFirst()
+            .orElseThrow(() -> new InvalidStatsRequestException("Unsupported granularity: " + unit));
+  }
+}
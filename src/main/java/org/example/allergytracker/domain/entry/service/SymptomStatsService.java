@@ -0,0 +1,69 @@
+package org.example.allergytracker.domain.entry.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.allergytracker.domain.entry.repository.EntryRepository;
+import org.example.allergytracker.domain.entry.repository.SymptomStatsRow;
+import org.example.allergytracker.exception.entry.InvalidStatsRequestException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class SymptomStatsService {
+
+  private static final ZoneId UTC = ZoneId.of("UTC");
+
+  private final EntryRepository entryRepository;
+  private final DailySymptomRollupService dailySymptomRollupService;
+  private final CompactEntryService compactEntryService;
+
+  @Transactional(readOnly = true)
+  public List<SymptomStatsRow> aggregate(UUID userId, Instant from, Instant to, StatsGranularity granularity, ZoneId zone) {
+    var lowerBound = from != null ? from : EntryService.EARLIEST_OCCURRED_ON;
+    var upperBound = to != null ? to : EntryService.LATEST_OCCURRED_ON;
+
+    // Daily rollup rows are cut at UTC midnight, so they can only answer UTC questions on whole days.
+    if (UTC.equals(zone) && isUtcMidnight(lowerBound) && isUtcMidnight(upperBound)) {
+      return dailySymptomRollupService.aggregate(
+              userId,
+              LocalDate.ofInstant(lowerBound, ZoneOffset.UTC),
+              LocalDate.ofInstant(upperBound, ZoneOffset.UTC),
+              granularity
+      );
+    }
+    if (compactEntryService.enabled()) {
+      return compactEntryService.aggregate(userId, lowerBound, upperBound, granularity, zone);
+    }
+    return entryRepository.aggregateSymptoms(userId, lowerBound, upperBound, granularity.unit(), zone.getId());
+  }
+
+  public static ZoneId parseZone(String zone) {
+    ZoneId zoneId;
+    try {
+      zoneId = ZoneId.of(zone);
+    } catch (DateTimeException e) {
+      throw new InvalidStatsRequestException("Unknown time zone: " + zone);
+    }
+    if (ZoneOffset.UTC.equals(zoneId)) {
+      return UTC;
+    }
+    // Postgres reads numeric offsets with POSIX (inverted) signs, so only region ids are passed through.
+    if (!ZoneId.getAvailableZoneIds().contains(zoneId.getId())) {
+      throw new InvalidStatsRequestException("Time zone must be a region id such as Europe/Warsaw: " + zone);
+    }
+    return zoneId;
+  }
+
+  private static boolean isUtcMidnight(Instant instant) {
+    return instant.equals(instant.truncatedTo(ChronoUnit.DAYS));
+  }
+}
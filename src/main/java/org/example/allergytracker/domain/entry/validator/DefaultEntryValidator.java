@@ -0,0 +1,37 @@
+package org.example.allergytracker.domain.entry.validator;
+
+import org.example.allergytracker.domain.entry.controller.EntryDto;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@Component
+public class DefaultEntryValidator implements EntryValidator {
+
+  private static final int MIN_SYMPTOM_VALUE = 0;
+  private static final int MAX_SYMPTOM_VALUE = 5;
+
+  @Override
+  public List<String> validate(EntryDto entry) {
+    var errors = new ArrayList<String>();
+    if (entry.occurredOn() == null) {
+      errors.add("occurredOn is required");
+    }
+    validateSymptom("upperRespiratory", entry.upperRespiratory(), errors);
+    validateSymptom("lowerRespiratory", entry.lowerRespiratory(), errors);
+    validateSymptom("skin", entry.skin(), errors);
+    validateSymptom("eyes", entry.eyes(), errors);
+    if (entry.exposures() != null && entry.exposures().stream().anyMatch(Objects::isNull)) {
+      errors.add("exposures must not contain null");
+    }
+    return errors;
+  }
+
+  private static void validateSymptom(String name, int value, List<String> errors) {
+    if (value < MIN_SYMPTOM_VALUE || value > MAX_SYMPTOM_VALUE) {
+      errors.add(name + " must be between " + MIN_SYMPTOM_VALUE + " and " + MAX_SYMPTOM_VALUE);
+    }
+  }
+}
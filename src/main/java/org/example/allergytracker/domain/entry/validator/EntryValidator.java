@@ -0,0 +1,9 @@
+package org.example.allergytracker.domain.entry.validator;
+
+import org.example.allergytracker.domain.entry.controller.EntryDto;
+
+import java.util.List;
+
+public interface EntryValidator {
+  List<String> validate(EntryDto entry);
+}
@@ -0,0 +1,53 @@
+package org.example.allergytracker.domain.user.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.allergytracker.domain.auth.dto.MeResponse;
+import org.example.allergytracker.domain.auth.dto.UserResponse;
+import org.example.allergytracker.domain.auth.service.AuthService;
+import org.example.allergytracker.domain.user.service.UserService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.example.allergytracker.security.AuthenticationProvider.getCurrentToken;
+import static org.example.allergytracker.security.AuthenticationProvider.getCurrentUserId;
+
+@RestController
+@RequestMapping(UserController.USER_API_PATH)
+@RequiredArgsConstructor
+public class UserController {
+
+  static final String USER_API_PATH = "/me";
+
+  private final UserService userService;
+  private final AuthService authService;
+
+  @GetMapping
+  public ResponseEntity<MeResponse> getCurrentUser(WebRequest request) {
+    // Served from the verified access-token claims; the token is only issued for an existing user.
+    var token = getCurrentToken();
+    var user = new UserResponse(token.userId(), token.email());
+    var eTag = "\"" + DigestUtils.md5DigestAsHex((user.id() + ":" + user.email()).getBytes(StandardCharsets.UTF_8)) + "\"";
+    if (request.checkNotModified(eTag)) {
+      return null;
+    }
+    return ResponseEntity.ok()
+            .eTag(eTag)
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .body(new MeResponse(user));
+  }
+
+  @DeleteMapping
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public void deleteAccount(HttpServletRequest request, HttpServletResponse response) {
+    userService.deleteAccount(getCurrentUserId());
+    authService.logout(request, response);
+  }
+}
@@ -2,7 +2,10 @@ package org.example.allergytracker.domain.user.repository;
 
 import org.example.allergytracker.domain.user.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -10,4 +13,17 @@ import java.util.UUID;
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
   Optional<User> findByEmail(String email);
+
+  @Modifying
+  @Transactional
+  @Query(value = """
+          INSERT INTO users (id, email, password)
+          VALUES (:id, :email, :password)
+          ON CONFLICT (email) DO NOTHING
+          """, nativeQuery = true)
+  int insertIfAbsent(UUID id, String email, String password);
+
+  @Modifying
+  @Query("delete from User u where u.id = :id")
+  int deleteUserById(UUID id);
 }
@@ -0,0 +1,26 @@
+package org.example.allergytracker.domain.user.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.allergytracker.domain.entry.service.EntryService;
+import org.example.allergytracker.domain.user.repository.UserRepository;
+import org.example.allergytracker.exception.auth.UserNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class UserService {
+
+  private final UserRepository userRepository;
+  private final EntryService entryService;
+
+  @Transactional
+  public void deleteAccount(UUID userId) {
+    entryService.deleteAllByUserId(userId);
+    if (userRepository.deleteUserById(userId) == 0) {
+      throw new UserNotFoundException(userId);
+    }
+  }
+}
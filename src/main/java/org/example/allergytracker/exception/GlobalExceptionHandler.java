@@ -1,6 +1,8 @@
 package org.example.allergytracker.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -28,7 +30,26 @@ public class GlobalExceptionHandler {
     body.put("error", e.getStatus().getReasonPhrase());
     body.put("message", e.getMessage());
 
-    return ResponseEntity.status(e.getStatus()).body(body);
+    var response = ResponseEntity.status(e.getStatus());
+    if (e instanceof RetryLaterException retryLater) {
+      var retryAfterSeconds = retryLater.getRetryAfter().plusNanos(999_999_999).toSeconds();
+      response.header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfterSeconds)));
+    }
+    return response.body(body);
+  }
+
+  // Data the validators let through but the schema rejects, e.g. a link to an exposure type deleted meanwhile.
+  @ExceptionHandler(DataIntegrityViolationException.class)
+  public ResponseEntity<Map<String, Object>> handleException(DataIntegrityViolationException e) {
+    LOGGER.warn("Data integrity violation: {}", e.getMostSpecificCause().getMessage());
+
+    var body = new HashMap<String, Object>();
+    body.put("timestamp", Instant.now().toString());
+    body.put("status", HttpStatus.BAD_REQUEST.value());
+    body.put("error", HttpStatus.BAD_REQUEST.getReasonPhrase());
+    body.put("message", "The request conflicts with the stored data");
+
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
   }
 
   @ExceptionHandler(Exception.class)
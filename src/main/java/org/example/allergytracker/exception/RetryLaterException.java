@@ -0,0 +1,18 @@
+package org.example.allergytracker.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+@Getter
+public abstract class RetryLaterException extends ApplicationException {
+
+  private final Duration retryAfter;
+
+  protected RetryLaterException(String message, HttpStatus status, Duration retryAfter) {
+    super(message, status);
+    this.retryAfter = retryAfter;
+  }
+
+}
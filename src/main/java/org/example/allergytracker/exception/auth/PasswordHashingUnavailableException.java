@@ -0,0 +1,13 @@
+package org.example.allergytracker.exception.auth;
+
+import org.example.allergytracker.exception.RetryLaterException;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+public class PasswordHashingUnavailableException extends RetryLaterException {
+
+  public PasswordHashingUnavailableException(Duration retryAfter) {
+    super("Too many sign-in requests, please retry later", HttpStatus.SERVICE_UNAVAILABLE, retryAfter);
+  }
+}
@@ -0,0 +1,13 @@
+package org.example.allergytracker.exception.auth;
+
+import org.example.allergytracker.exception.RetryLaterException;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+public class TooManyLoginAttemptsException extends RetryLaterException {
+
+  public TooManyLoginAttemptsException(Duration retryAfter) {
+    super("Too many attempts, please retry later", HttpStatus.TOO_MANY_REQUESTS, retryAfter);
+  }
+}
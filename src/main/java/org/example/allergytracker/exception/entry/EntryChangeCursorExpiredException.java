@@ -0,0 +1,11 @@
+package org.example.allergytracker.exception.entry;
+
+import org.example.allergytracker.exception.ApplicationException;
+import org.springframework.http.HttpStatus;
+
+public class EntryChangeCursorExpiredException extends ApplicationException {
+
+  public EntryChangeCursorExpiredException() {
+    super("Change cursor is older than the retained deletions, a full resync is required", HttpStatus.GONE);
+  }
+}
@@ -0,0 +1,13 @@
+package org.example.allergytracker.exception.entry;
+
+import org.example.allergytracker.exception.ApplicationException;
+import org.springframework.http.HttpStatus;
+
+import java.util.UUID;
+
+public class EntryVersionConflictException extends ApplicationException {
+
+  public EntryVersionConflictException(UUID entryId) {
+    super("Entry was modified concurrently: " + entryId, HttpStatus.CONFLICT);
+  }
+}
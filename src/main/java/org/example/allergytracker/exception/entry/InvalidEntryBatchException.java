@@ -0,0 +1,11 @@
+package org.example.allergytracker.exception.entry;
+
+import org.example.allergytracker.exception.ApplicationException;
+import org.springframework.http.HttpStatus;
+
+public class InvalidEntryBatchException extends ApplicationException {
+
+  public InvalidEntryBatchException(String message) {
+    super(message, HttpStatus.BAD_REQUEST);
+  }
+}
@@ -0,0 +1,11 @@
+package org.example.allergytracker.exception.entry;
+
+import org.example.allergytracker.exception.ApplicationException;
+import org.springframework.http.HttpStatus;
+
+public class InvalidEntryCursorException extends ApplicationException {
+
+  public InvalidEntryCursorException(String cursor) {
+    super("Invalid entry cursor: " + cursor, HttpStatus.BAD_REQUEST);
+  }
+}
@@ -0,0 +1,11 @@
+package org.example.allergytracker.exception.entry;
+
+import org.example.allergytracker.exception.ApplicationException;
+import org.springframework.http.HttpStatus;
+
+public class UnsupportedExportFormatException extends ApplicationException {
+
+  public UnsupportedExportFormatException(String format) {
+    super("Unsupported export format: " + format, HttpStatus.BAD_REQUEST);
+  }
+}
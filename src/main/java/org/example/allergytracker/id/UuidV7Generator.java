@@ -0,0 +1,51 @@
+package org.example.allergytracker.id;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.IdGenerator;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+@Component
+public class UuidV7Generator implements IdGenerator {
+
+  private static final int COUNTER_BITS = 12;
+  private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+  private static final long VERSION_7 = 0x7000L;
+  private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+  private static final long VARIANT_IETF = 0x8000000000000000L;
+
+  // Unix milliseconds in the upper bits and a sequence counter (rand_a) in the lower 12.
+  private final AtomicLong lastState = new AtomicLong();
+  private final LongSupplier currentTimeMillis;
+
+  public UuidV7Generator() {
+    this(System::currentTimeMillis);
+  }
+
+  UuidV7Generator(LongSupplier currentTimeMillis) {
+    this.currentTimeMillis = currentTimeMillis;
+  }
+
+  @Override
+  public UUID generateId() {
+    var state = nextState(currentTimeMillis.getAsLong() << COUNTER_BITS);
+    var timestamp = state >>> COUNTER_BITS;
+    var mostSigBits = (timestamp << 16) | VERSION_7 | (state & COUNTER_MASK);
+    var leastSigBits = (ThreadLocalRandom.current().nextLong() & VARIANT_MASK) | VARIANT_IETF;
+    return new UUID(mostSigBits, leastSigBits);
+  }
+
+  private long nextState(long candidate) {
+    while (true) {
+      var last = lastState.get();
+      // Within one millisecond, or if the clock steps back, the counter advances and carries into the timestamp.
+      var next = candidate > last ? candidate : last + 1;
+      if (lastState.compareAndSet(last, next)) {
+        return next;
+      }
+    }
+  }
+}
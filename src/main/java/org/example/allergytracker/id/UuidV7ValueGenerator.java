@@ -0,0 +1,16 @@
+package org.example.allergytracker.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.util.UUID;
+
+public class UuidV7ValueGenerator implements UuidValueGenerator {
+
+  private final UuidV7Generator generator = new UuidV7Generator();
+
+  @Override
+  public UUID generateUuid(SharedSessionContractImplementor session) {
+    return generator.generateId();
+  }
+}
@@ -1,6 +1,7 @@
 package org.example.allergytracker.security;
 
 import org.example.allergytracker.exception.auth.UnauthenticatedException;
+import org.example.allergytracker.security.jwt.VerifiedToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.UUID;
@@ -18,4 +19,12 @@ public class AuthenticationProvider {
         }
         return (UUID) authentication.getPrincipal();
     }
+
+    public static VerifiedToken getCurrentToken() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getDetails() instanceof VerifiedToken token)) {
+            throw new UnauthenticatedException("No authenticated user found");
+        }
+        return token;
+    }
 }
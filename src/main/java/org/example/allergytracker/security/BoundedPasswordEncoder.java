@@ -0,0 +1,102 @@
+package org.example.allergytracker.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.allergytracker.exception.auth.PasswordHashingUnavailableException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+  private static final String METRIC_PREFIX = "auth.password.hashing";
+  private static final String THREAD_NAME = "password-hashing";
+
+  private final PasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+  private final Duration retryAfter;
+  private final Timer waitTimer;
+  private final Timer encodeTimer;
+  private final Timer matchesTimer;
+  private final Counter rejectedCounter;
+
+  public BoundedPasswordEncoder(
+          PasswordEncoder delegate,
+          int threads,
+          int queueCapacity,
+          Duration retryAfter,
+          MeterRegistry meterRegistry
+  ) {
+    this.delegate = delegate;
+    this.retryAfter = retryAfter;
+    // Hashing gets its own small pool so a burst of logins cannot occupy every request thread.
+    this.executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            Thread.ofPlatform().name(THREAD_NAME + "-", 0).daemon().factory(),
+            new ThreadPoolExecutor.AbortPolicy()
+    );
+
+    Gauge.builder(METRIC_PREFIX + ".queue.size", executor, pool -> pool.getQueue().size())
+            .register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+            .register(meterRegistry);
+    this.waitTimer = Timer.builder(METRIC_PREFIX + ".wait").register(meterRegistry);
+    this.encodeTimer = Timer.builder(METRIC_PREFIX + ".duration").tag("operation", "encode").register(meterRegistry);
+    this.matchesTimer = Timer.builder(METRIC_PREFIX + ".duration").tag("operation", "matches").register(meterRegistry);
+    this.rejectedCounter = Counter.builder(METRIC_PREFIX + ".rejected").register(meterRegistry);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return execute(encodeTimer, () -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return execute(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  @Override
+  public void close() {
+    executor.shutdown();
+  }
+
+  private <T> T execute(Timer hashTimer, Callable<T> hashing) {
+    var submittedAt = System.nanoTime();
+    try {
+      var result = executor.submit(() -> {
+        waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+        return hashTimer.recordCallable(hashing);
+      });
+      return result.get();
+    } catch (RejectedExecutionException e) {
+      rejectedCounter.increment();
+      throw new PasswordHashingUnavailableException(retryAfter);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("Password hashing failed", e.getCause());
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package org.example.allergytracker.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+public class DummyPasswordHash {
+
+  private final String value;
+
+  public DummyPasswordHash(PasswordEncoder passwordEncoder) {
+    // Hashed with the live encoder so it carries the same cost factor as real user hashes.
+    this.value = passwordEncoder.encode(UUID.randomUUID().toString());
+  }
+
+  public String value() {
+    return value;
+  }
+}
@@ -6,41 +6,62 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.example.allergytracker.security.jwt.JwtExtractor;
+import org.example.allergytracker.security.jwt.VerifiedTokenCache;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtTokenProvider tokenProvider;
+    private static final List<GrantedAuthority> NO_AUTHORITIES = List.of();
+
+    private final VerifiedTokenCache verifiedTokenCache;
     private final JwtExtractor jwtExtractor;
 
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Preflights and the permit-all auth endpoints never need an authenticated principal.
+        if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+            return true;
+        }
+        var path = request.getRequestURI().substring(request.getContextPath().length());
+        return SecurityConfig.PUBLIC_PATHS.contains(path);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        try {
-            jwtExtractor.extractToken(request).ifPresent(jwt -> {
-                if (tokenProvider.validateToken(jwt)) {
-                    var userId = tokenProvider.getUserIdFromToken(jwt);
+        var jwt = jwtExtractor.extractToken(request);
+        if (jwt.isPresent()) {
+            authenticate(jwt.get());
+        }
 
-                    var authentication =
-                            new UsernamePasswordAuthenticationToken(userId, null, Collections.emptyList());
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(String jwt) {
+        try {
+            var verified = verifiedTokenCache.verify(jwt);
+            // Refresh tokens carry a family id and must not be accepted as access tokens.
+            if (verified.isEmpty() || verified.get().familyId() != null) {
+                return;
+            }
+            var token = verified.get();
+            var authentication = new UsernamePasswordAuthenticationToken(token.userId(), null, NO_AUTHORITIES);
+            // Keeps the verified claims at hand so endpoints like /me need no user lookup.
+            authentication.setDetails(token);
 
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
-            });
+            SecurityContextHolder.getContext().setAuthentication(authentication);
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
         }
-
-        filterChain.doFilter(request, response);
     }
 }
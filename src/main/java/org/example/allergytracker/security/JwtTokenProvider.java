@@ -1,14 +1,19 @@
 package org.example.allergytracker.security;
 
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import org.example.allergytracker.security.jwt.VerifiedToken;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.slf4j.LoggerFactory.getLogger;
@@ -18,7 +23,12 @@ public class JwtTokenProvider {
 
   private static final Logger LOGGER = getLogger(JwtTokenProvider.class);
 
+  private static final String EMAIL_CLAIM = "email";
+  private static final String FAMILY_CLAIM = "fam";
+  private static final int MAX_TOKEN_LENGTH = 4096;
+
   private final SecretKey secretKey;
+  private final JwtParser jwtParser;
   private final long accessTokenValidityMs;
   private final long refreshTokenValidityMs;
 
@@ -28,61 +38,85 @@ public class JwtTokenProvider {
           @Value("${jwt.refresh-token-validity-ms}") long refreshTokenValidityMs
   ) {
     this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    // Parsers are immutable and thread-safe, so one instance serves every request.
+    this.jwtParser = Jwts.parser().verifyWith(secretKey).build();
     this.accessTokenValidityMs = accessTokenValidityMs;
     this.refreshTokenValidityMs = refreshTokenValidityMs;
   }
 
   public String generateAccessToken(UUID userId, String email) {
-    return generateToken(userId, email, accessTokenValidityMs);
+    return tokenBuilder(userId, email, accessTokenValidityMs).compact();
   }
 
   public String generateRefreshToken(UUID userId, String email) {
-    return generateToken(userId, email, refreshTokenValidityMs);
+    return generateRefreshToken(userId, email, UUID.randomUUID());
+  }
+
+  public String generateRefreshToken(UUID userId, String email, UUID familyId) {
+    // Every rotation gets a fresh id; the family id is carried over so a reused token can revoke its whole chain.
+    return tokenBuilder(userId, email, refreshTokenValidityMs)
+            .id(UUID.randomUUID().toString())
+            .claim(FAMILY_CLAIM, familyId.toString())
+            .compact();
+  }
+
+  public Duration refreshTokenValidity() {
+    return Duration.ofMillis(refreshTokenValidityMs);
   }
 
-  private String generateToken(UUID userId, String email, long validityMs) {
+  private JwtBuilder tokenBuilder(UUID userId, String email, long validityMs) {
     var now = new Date();
     var expiryDate = new Date(now.getTime() + validityMs);
 
     return Jwts.builder()
             .subject(userId.toString())
-            .claim("email", email)
+            .claim(EMAIL_CLAIM, email)
             .issuedAt(now)
             .expiration(expiryDate)
-            .signWith(secretKey)
-            .compact();
-  }
-
-  public UUID getUserIdFromToken(String token) {
-    var claims = Jwts.parser()
-            .verifyWith(secretKey)
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
-
-    return UUID.fromString(claims.getSubject());
-  }
-
-  public String getEmailFromToken(String token) {
-    var claims = Jwts.parser()
-            .verifyWith(secretKey)
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
-
-    return claims.get("email", String.class);
+            .signWith(secretKey);
   }
 
-  public boolean validateToken(String token) {
+  public Optional<VerifiedToken> verify(String token) {
+    if (!hasCompactJwsShape(token)) {
+      return Optional.empty();
+    }
     try {
-      Jwts.parser()
-              .verifyWith(secretKey)
-              .build()
-              .parseSignedClaims(token);
-      return true;
+      var claims = jwtParser.parseSignedClaims(token).getPayload();
+      return Optional.of(new VerifiedToken(
+              UUID.fromString(claims.getSubject()),
+              claims.get(EMAIL_CLAIM, String.class),
+              uuidOrNull(claims.getId()),
+              uuidOrNull(claims.get(FAMILY_CLAIM, String.class)),
+              claims.getExpiration().toInstant()
+      ));
     } catch (Exception e) {
       LOGGER.debug("Invalid JWT token: {}", e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  // Rejects garbage without paying for the parser's exception-driven failure path.
+  public static boolean hasCompactJwsShape(String token) {
+    if (token == null || token.isEmpty() || token.length() > MAX_TOKEN_LENGTH) {
       return false;
     }
+    int separators = 0;
+    for (int i = 0; i < token.length(); i++) {
+      var c = token.charAt(i);
+      if (c == '.') {
+        separators++;
+      } else if (!isBase64UrlChar(c)) {
+        return false;
+      }
+    }
+    return separators == 2;
+  }
+
+  private static boolean isBase64UrlChar(char c) {
+    return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+  }
+
+  private static UUID uuidOrNull(String value) {
+    return value != null ? UUID.fromString(value) : null;
   }
 }
@@ -1,5 +1,6 @@
 package org.example.allergytracker.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -16,8 +17,10 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 @Configuration
 @EnableWebSecurity
@@ -27,8 +30,10 @@ public class SecurityConfig {
   private static final String AUTH_LOGIN_PATH = "/auth/login";
   private static final String AUTH_REGISTER_PATH = "/auth/register";
   private static final String AUTH_REFRESH_PATH = "/auth/refresh";
+  static final Set<String> PUBLIC_PATHS = Set.of(AUTH_LOGIN_PATH, AUTH_REGISTER_PATH, AUTH_REFRESH_PATH);
   private static final String CORS_PATTERN = "/**";
   private static final String SET_COOKIE_HEADER = "Set-Cookie";
+  private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
   private static final String WILDCARD = "*";
 
   private final JwtAuthenticationFilter jwtAuthenticationFilter;
@@ -39,9 +44,24 @@ public class SecurityConfig {
   @Value("${security.password.pepper}")
   private String passwordPepper;
 
+  @Value("${security.password.hashing.threads}")
+  private int passwordHashingThreads;
+
+  @Value("${security.password.hashing.queue-capacity}")
+  private int passwordHashingQueueCapacity;
+
+  @Value("${security.password.hashing.retry-after}")
+  private Duration passwordHashingRetryAfter;
+
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new PepperedPasswordEncoder(passwordPepper);
+  public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+    return new BoundedPasswordEncoder(
+            new PepperedPasswordEncoder(passwordPepper),
+            passwordHashingThreads,
+            passwordHashingQueueCapacity,
+            passwordHashingRetryAfter,
+            meterRegistry
+    );
   }
 
   @Bean
@@ -51,7 +71,7 @@ public class SecurityConfig {
             .csrf(AbstractHttpConfigurer::disable)
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
-                    .requestMatchers(AUTH_LOGIN_PATH, AUTH_REGISTER_PATH, AUTH_REFRESH_PATH).permitAll()
+                    .requestMatchers(PUBLIC_PATHS.toArray(String[]::new)).permitAll()
                     .requestMatchers(HttpMethod.OPTIONS, CORS_PATTERN).permitAll()
                     .anyRequest().authenticated()
             )
@@ -67,7 +87,7 @@ public class SecurityConfig {
     configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
     configuration.setAllowedHeaders(List.of(WILDCARD));
     configuration.setAllowCredentials(true);
-    configuration.setExposedHeaders(List.of(SET_COOKIE_HEADER));
+    configuration.setExposedHeaders(List.of(SET_COOKIE_HEADER, NEXT_CURSOR_HEADER));
 
     var source = new UrlBasedCorsConfigurationSource();
     source.registerCorsConfiguration(CORS_PATTERN, configuration);
@@ -0,0 +1,7 @@
+package org.example.allergytracker.security.jwt;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record VerifiedToken(UUID userId, String email, UUID tokenId, UUID familyId, Instant expiresAt) {
+}
@@ -0,0 +1,81 @@
+package org.example.allergytracker.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.example.allergytracker.security.JwtTokenProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+
+@Component
+public class VerifiedTokenCache {
+
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+  private static final Duration REJECTED_TOKEN_TTL = Duration.ofMinutes(10);
+
+  private final JwtTokenProvider tokenProvider;
+  private final Cache<String, VerifiedToken> verifiedTokens;
+  private final Cache<String, Boolean> rejectedTokens;
+
+  public VerifiedTokenCache(
+          JwtTokenProvider tokenProvider,
+          @Value("${jwt.verified-token-cache-size:10000}") long maximumSize
+  ) {
+    this.tokenProvider = tokenProvider;
+    this.verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(Expiry.<String, VerifiedToken>writing((digest, token) ->
+                    timeToLive(token)))
+            .build();
+    // A bad signature or an expiry never heals, so clients retrying a stale token are turned away without a parse.
+    this.rejectedTokens = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(REJECTED_TOKEN_TTL)
+            .build();
+  }
+
+  public Optional<VerifiedToken> verify(String token) {
+    if (!JwtTokenProvider.hasCompactJwsShape(token)) {
+      return Optional.empty();
+    }
+    // Keyed by digest so the cache never holds usable bearer tokens.
+    var digest = digest(token);
+    var cached = verifiedTokens.getIfPresent(digest);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    if (rejectedTokens.getIfPresent(digest) != null) {
+      return Optional.empty();
+    }
+
+    var verified = tokenProvider.verify(token);
+    if (verified.isPresent()) {
+      verifiedTokens.put(digest, verified.get());
+    } else {
+      rejectedTokens.put(digest, Boolean.TRUE);
+    }
+    return verified;
+  }
+
+  private static Duration timeToLive(VerifiedToken token) {
+    var remaining = Duration.between(Instant.now(), token.expiresAt());
+    return remaining.isNegative() ? Duration.ZERO : remaining;
+  }
+
+  private static String digest(String token) {
+    try {
+      var hash = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(token.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(DIGEST_ALGORITHM + " is not available", e);
+    }
+  }
+}
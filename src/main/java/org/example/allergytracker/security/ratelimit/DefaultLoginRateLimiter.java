@@ -0,0 +1,79 @@
+package org.example.allergytracker.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.allergytracker.exception.auth.TooManyLoginAttemptsException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+@Component
+public class DefaultLoginRateLimiter implements LoginRateLimiter {
+
+  private static final String EMAIL_KEY_PREFIX = "email:";
+  private static final String IP_KEY_PREFIX = "ip:";
+
+  private final Cache<String, TokenBucket> buckets;
+  private final int emailCapacity;
+  private final long emailNanosPerToken;
+  private final int ipCapacity;
+  private final long ipNanosPerToken;
+  private final LongSupplier nanoTime;
+
+  @Autowired
+  public DefaultLoginRateLimiter(
+          @Value("${security.login-rate-limit.email.capacity}") int emailCapacity,
+          @Value("${security.login-rate-limit.email.refill-interval}") Duration emailRefillInterval,
+          @Value("${security.login-rate-limit.ip.capacity}") int ipCapacity,
+          @Value("${security.login-rate-limit.ip.refill-interval}") Duration ipRefillInterval,
+          @Value("${security.login-rate-limit.max-keys}") long maxKeys
+  ) {
+    this(emailCapacity, emailRefillInterval, ipCapacity, ipRefillInterval, maxKeys, System::nanoTime);
+  }
+
+  DefaultLoginRateLimiter(
+          int emailCapacity,
+          Duration emailRefillInterval,
+          int ipCapacity,
+          Duration ipRefillInterval,
+          long maxKeys,
+          LongSupplier nanoTime
+  ) {
+    this.emailCapacity = emailCapacity;
+    this.emailNanosPerToken = emailRefillInterval.toNanos();
+    this.ipCapacity = ipCapacity;
+    this.ipNanosPerToken = ipRefillInterval.toNanos();
+    this.nanoTime = nanoTime;
+    // An idle bucket is full again after capacity * interval, so dropping it then loses nothing.
+    var idleTimeout = Collections.max(List.of(
+            emailRefillInterval.multipliedBy(emailCapacity),
+            ipRefillInterval.multipliedBy(ipCapacity)
+    ));
+    this.buckets = Caffeine.newBuilder()
+            .maximumSize(maxKeys)
+            .expireAfterAccess(idleTimeout)
+            .build();
+  }
+
+  @Override
+  public void acquire(String email, String clientIp) {
+    var now = nanoTime.getAsLong();
+    var ipWait = bucket(IP_KEY_PREFIX + clientIp, ipCapacity, ipNanosPerToken, now).tryConsume(now);
+    if (ipWait > 0) {
+      throw new TooManyLoginAttemptsException(Duration.ofNanos(ipWait));
+    }
+    var emailWait = bucket(EMAIL_KEY_PREFIX + email, emailCapacity, emailNanosPerToken, now).tryConsume(now);
+    if (emailWait > 0) {
+      throw new TooManyLoginAttemptsException(Duration.ofNanos(emailWait));
+    }
+  }
+
+  private TokenBucket bucket(String key, int capacity, long nanosPerToken, long now) {
+    return buckets.get(key, ignored -> new TokenBucket(capacity, nanosPerToken, now));
+  }
+}
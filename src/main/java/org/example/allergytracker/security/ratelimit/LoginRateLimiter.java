@@ -0,0 +1,5 @@
+package org.example.allergytracker.security.ratelimit;
+
+public interface LoginRateLimiter {
+  void acquire(String email, String clientIp);
+}
@@ -0,0 +1,45 @@
+package org.example.allergytracker.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+final class TokenBucket {
+
+  private final int capacity;
+  private final long nanosPerToken;
+  private final AtomicReference<State> state;
+
+  TokenBucket(int capacity, long nanosPerToken, long nowNanos) {
+    this.capacity = capacity;
+    this.nanosPerToken = nanosPerToken;
+    this.state = new AtomicReference<>(new State(capacity, nowNanos));
+  }
+
+  // Returns 0 when a token was taken, otherwise the nanos until the next one is available.
+  long tryConsume(long nowNanos) {
+    while (true) {
+      var current = state.get();
+      var refilled = current.refill(capacity, nanosPerToken, nowNanos);
+      if (refilled.tokens() < 1) {
+        return nanosPerToken - (nowNanos - refilled.refilledAt());
+      }
+      if (state.compareAndSet(current, new State(refilled.tokens() - 1, refilled.refilledAt()))) {
+        return 0;
+      }
+    }
+  }
+
+  private record State(long tokens, long refilledAt) {
+
+    State refill(int capacity, long nanosPerToken, long nowNanos) {
+      var newTokens = (nowNanos - refilledAt) / nanosPerToken;
+      if (newTokens <= 0) {
+        return this;
+      }
+      if (tokens + newTokens >= capacity) {
+        return new State(capacity, nowNanos);
+      }
+      // Keeps the partial interval so slow trickles still earn their tokens.
+      return new State(tokens + newTokens, refilledAt + newTokens * nanosPerToken);
+    }
+  }
+}
@@ -0,0 +1,41 @@
+-- Exactly the schema hibernate ddl-auto created before migrations took over, generated constraint names included,
+-- so existing databases can be baselined at this version. Later changes belong in later migrations.
+
+CREATE TABLE entries (
+    id                      uuid NOT NULL,
+    created_at              timestamp(6) with time zone,
+    eyes_value              integer,
+    lower_respiratory_value integer,
+    note_value              varchar(255),
+    occurred_on             timestamp(6) with time zone,
+    skin_value              integer,
+    updated_at              timestamp(6) with time zone,
+    upper_respiratory_value integer,
+    user_id                 uuid NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE entry_exposure_types (
+    entry_id         uuid NOT NULL,
+    exposure_type_id uuid NOT NULL
+);
+
+CREATE TABLE exposure_types (
+    id          uuid         NOT NULL,
+    description varchar(255),
+    value       varchar(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE users (
+    id       uuid         NOT NULL,
+    email    varchar(255) NOT NULL,
+    password varchar(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE exposure_types ADD CONSTRAINT uk5hllqq0mg31uq8pc04c3xhne3 UNIQUE (value);
+ALTER TABLE users ADD CONSTRAINT uk6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email);
+ALTER TABLE entries ADD CONSTRAINT fkoia5s1p9sk4x5fld87yjqpjg9 FOREIGN KEY (user_id) REFERENCES users;
+ALTER TABLE entry_exposure_types ADD CONSTRAINT fkq9bcktloonob5fcgvgh8i8suh FOREIGN KEY (exposure_type_id) REFERENCES exposure_types;
+ALTER TABLE entry_exposure_types ADD CONSTRAINT fkc8ilfvr79y5mvvs03amxw64kb FOREIGN KEY (entry_id) REFERENCES entries;
@@ -0,0 +1,48 @@
+-- Missing users are reported by this constraint's name, so it gets a stable one instead of the generated hash.
+ALTER TABLE entries RENAME CONSTRAINT fkoia5s1p9sk4x5fld87yjqpjg9 TO fk_entries_user;
+
+-- Login reads the credentials straight from the index.
+CREATE INDEX idx_users_email_credentials ON users (email, id, password);
+
+-- Optimistic locking for entry updates; existing rows start at the first version.
+ALTER TABLE entries ADD COLUMN version bigint DEFAULT 0 NOT NULL;
+
+-- Change feed: updated entries are found by updated_at, deleted ones by their tombstones.
+CREATE INDEX idx_entries_user_id_updated_at ON entries (user_id, updated_at);
+
+CREATE TABLE entry_deletions (
+    entry_id   uuid                        NOT NULL,
+    user_id    uuid                        NOT NULL,
+    deleted_at timestamp(6) with time zone NOT NULL,
+    CONSTRAINT pk_entry_deletions PRIMARY KEY (entry_id)
+);
+
+CREATE INDEX idx_entry_deletions_user_id_deleted_at ON entry_deletions (user_id, deleted_at);
+
+CREATE TABLE daily_symptom_rollup (
+    user_id               uuid    NOT NULL,
+    day                   date    NOT NULL,
+    entry_count           integer NOT NULL,
+    upper_respiratory_sum integer NOT NULL,
+    upper_respiratory_max integer NOT NULL,
+    lower_respiratory_sum integer NOT NULL,
+    lower_respiratory_max integer NOT NULL,
+    skin_sum              integer NOT NULL,
+    skin_max              integer NOT NULL,
+    eyes_sum              integer NOT NULL,
+    eyes_max              integer NOT NULL,
+    total_sum             integer NOT NULL,
+    total_max             integer NOT NULL,
+    exposure_count        integer NOT NULL,
+    CONSTRAINT pk_daily_symptom_rollup PRIMARY KEY (day, user_id)
+);
+
+CREATE TABLE revoked_refresh_tokens (
+    token_id   uuid                        NOT NULL,
+    user_id    uuid                        NOT NULL,
+    expires_at timestamp(6) with time zone NOT NULL,
+    revoked_at timestamp(6) with time zone NOT NULL,
+    CONSTRAINT pk_revoked_refresh_tokens PRIMARY KEY (token_id)
+);
+
+CREATE INDEX idx_revoked_refresh_tokens_expires_at ON revoked_refresh_tokens (expires_at);
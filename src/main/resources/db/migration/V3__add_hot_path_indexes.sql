@@ -0,0 +1,7 @@
+-- Entry pages, stats and range deletes filter by user and occurred_on.
+CREATE INDEX idx_entries_user_id_occurred_on ON entries (user_id, occurred_on);
+
+-- Exposure links are read and deleted by entry; the reverse index serves lookups by exposure type
+-- and keeps exposure type deletes from scanning the whole link table.
+CREATE INDEX idx_entry_exposure_types_entry_id ON entry_exposure_types (entry_id, exposure_type_id);
+CREATE INDEX idx_entry_exposure_types_exposure_type_id ON entry_exposure_types (exposure_type_id, entry_id);
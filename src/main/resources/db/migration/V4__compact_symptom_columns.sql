@@ -0,0 +1,22 @@
+-- Rows written before scores were validated may hold anything, so repair them first; otherwise the type change, the
+-- checks below or the NOT NULL copy into compact_entries would fail on them. Missing scores, which the application
+-- cannot read, become 0 and the rest are clamped into 0..5.
+UPDATE entries SET upper_respiratory_value = COALESCE(LEAST(GREATEST(upper_respiratory_value, 0), 5), 0)
+WHERE upper_respiratory_value IS NULL OR upper_respiratory_value NOT BETWEEN 0 AND 5;
+UPDATE entries SET lower_respiratory_value = COALESCE(LEAST(GREATEST(lower_respiratory_value, 0), 5), 0)
+WHERE lower_respiratory_value IS NULL OR lower_respiratory_value NOT BETWEEN 0 AND 5;
+UPDATE entries SET skin_value = COALESCE(LEAST(GREATEST(skin_value, 0), 5), 0)
+WHERE skin_value IS NULL OR skin_value NOT BETWEEN 0 AND 5;
+UPDATE entries SET eyes_value = COALESCE(LEAST(GREATEST(eyes_value, 0), 5), 0)
+WHERE eyes_value IS NULL OR eyes_value NOT BETWEEN 0 AND 5;
+
+-- Scores are validated to 0..5, so two bytes per column are plenty; the checks keep direct writes honest too.
+ALTER TABLE entries ALTER COLUMN upper_respiratory_value SET DATA TYPE smallint;
+ALTER TABLE entries ALTER COLUMN lower_respiratory_value SET DATA TYPE smallint;
+ALTER TABLE entries ALTER COLUMN skin_value SET DATA TYPE smallint;
+ALTER TABLE entries ALTER COLUMN eyes_value SET DATA TYPE smallint;
+
+ALTER TABLE entries ADD CONSTRAINT ck_entries_upper_respiratory_value CHECK (upper_respiratory_value BETWEEN 0 AND 5);
+ALTER TABLE entries ADD CONSTRAINT ck_entries_lower_respiratory_value CHECK (lower_respiratory_value BETWEEN 0 AND 5);
+ALTER TABLE entries ADD CONSTRAINT ck_entries_skin_value CHECK (skin_value BETWEEN 0 AND 5);
+ALTER TABLE entries ADD CONSTRAINT ck_entries_eyes_value CHECK (eyes_value BETWEEN 0 AND 5);
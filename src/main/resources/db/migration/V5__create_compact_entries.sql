@@ -0,0 +1,25 @@
+-- Read-optimized copy of entries for analytics: smallint scores and exposures inline as an array, no join table.
+-- Kept up to date on every entry write; entries.compact-storage.enabled only makes symptom stats read from it.
+CREATE TABLE compact_entries (
+    id                uuid                        NOT NULL,
+    user_id           uuid                        NOT NULL,
+    occurred_on       timestamp(6) with time zone,
+    upper_respiratory smallint                    NOT NULL,
+    lower_respiratory smallint                    NOT NULL,
+    skin              smallint                    NOT NULL,
+    eyes              smallint                    NOT NULL,
+    exposure_type_ids uuid ARRAY                  NOT NULL,
+    CONSTRAINT pk_compact_entries PRIMARY KEY (id),
+    CONSTRAINT ck_compact_entries_upper_respiratory CHECK (upper_respiratory BETWEEN 0 AND 5),
+    CONSTRAINT ck_compact_entries_lower_respiratory CHECK (lower_respiratory BETWEEN 0 AND 5),
+    CONSTRAINT ck_compact_entries_skin CHECK (skin BETWEEN 0 AND 5),
+    CONSTRAINT ck_compact_entries_eyes CHECK (eyes BETWEEN 0 AND 5)
+);
+
+CREATE INDEX idx_compact_entries_user_id_occurred_on ON compact_entries (user_id, occurred_on);
+
+INSERT INTO compact_entries (id, user_id, occurred_on, upper_respiratory, lower_respiratory, skin, eyes, exposure_type_ids)
+SELECT e.id, e.user_id, e.occurred_on,
+       e.upper_respiratory_value, e.lower_respiratory_value, e.skin_value, e.eyes_value,
+       ARRAY(SELECT x.exposure_type_id FROM entry_exposure_types x WHERE x.entry_id = e.id)
+FROM entries e;
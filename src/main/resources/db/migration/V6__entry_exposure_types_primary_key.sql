@@ -0,0 +1,14 @@
+-- Exposures are a set per entry, so collapse any duplicate links before keying the table on the pair.
+CREATE TABLE entry_exposure_types_distinct AS
+SELECT DISTINCT entry_id, exposure_type_id FROM entry_exposure_types;
+
+DELETE FROM entry_exposure_types;
+
+INSERT INTO entry_exposure_types (entry_id, exposure_type_id)
+SELECT entry_id, exposure_type_id FROM entry_exposure_types_distinct;
+
+DROP TABLE entry_exposure_types_distinct;
+
+-- The primary key index covers lookups and deletes by entry, which the old secondary index served.
+ALTER TABLE entry_exposure_types ADD CONSTRAINT pk_entry_exposure_types PRIMARY KEY (entry_id, exposure_type_id);
+DROP INDEX idx_entry_exposure_types_entry_id;
@@ -0,0 +1,2 @@
+-- Each instance periodically reads the revocations made since its last sync.
+CREATE INDEX idx_revoked_refresh_tokens_revoked_at ON revoked_refresh_tokens (revoked_at);
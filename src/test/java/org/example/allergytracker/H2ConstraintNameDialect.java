@@ -0,0 +1,19 @@
+package org.example.allergytracker;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.exception.spi.TemplatedViolatedConstraintNameExtractor;
+import org.hibernate.exception.spi.ViolatedConstraintNameExtractor;
+
+// Hibernate's H2 extractor cuts the first character off the constraint names in H2 2.x messages
+// (violation: "fk_entries_user: ..."), so tests that assert on a violated constraint read it like PostgreSQL does.
+public class H2ConstraintNameDialect extends H2Dialect {
+
+  private static final ViolatedConstraintNameExtractor EXTRACTOR = new TemplatedViolatedConstraintNameExtractor(
+          exception -> TemplatedViolatedConstraintNameExtractor.extractUsingTemplate(
+                  "violation: \"", ":", exception.getMessage()));
+
+  @Override
+  public ViolatedConstraintNameExtractor getViolatedConstraintNameExtractor() {
+    return EXTRACTOR;
+  }
+}
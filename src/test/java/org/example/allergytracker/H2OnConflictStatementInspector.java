@@ -0,0 +1,16 @@
+package org.example.allergytracker;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.regex.Pattern;
+
+// H2 only accepts the untargeted ON CONFLICT DO NOTHING, so tests drop the conflict target PostgreSQL is given.
+public class H2OnConflictStatementInspector implements StatementInspector {
+
+  private static final Pattern CONFLICT_TARGET = Pattern.compile("ON CONFLICT \\([^)]*\\) DO NOTHING", Pattern.CASE_INSENSITIVE);
+
+  @Override
+  public String inspect(String sql) {
+    return CONFLICT_TARGET.matcher(sql).replaceAll("ON CONFLICT DO NOTHING");
+  }
+}
@@ -0,0 +1,101 @@
+package org.example.allergytracker;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,DAY",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SchemaMigrationTest {
+
+  private static final String LEGACY_DATABASE_URL =
+          "jdbc:h2:mem:legacy-scores;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,DAY;DB_CLOSE_DELAY=-1";
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void migrations_ShouldCreateHotPathIndexes() {
+    // When
+    var indexes = jdbcTemplate.queryForList(
+            "SELECT index_name FROM information_schema.indexes WHERE table_schema = 'public'", String.class);
+
+    // Then
+    assertTrue(indexes.contains("idx_entries_user_id_occurred_on"));
+    assertTrue(indexes.contains("idx_entries_user_id_updated_at"));
+    assertTrue(indexes.contains("idx_entry_exposure_types_exposure_type_id"));
+  }
+
+  @Test
+  void migrations_ShouldBeRecordedInOrder() {
+    // When
+    var versions = jdbcTemplate.queryForList(
+            "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"version\" IS NOT NULL AND \"success\" ORDER BY \"installed_rank\"", String.class);
+
+    // Then
+    assertEquals(List.of("1", "2", "3", "4", "5", "6", "7"), versions);
+  }
+
+  @Test
+  void migrations_ShouldRejectOutOfRangeSymptomScores() {
+    // Given
+    var userId = UUID.randomUUID();
+    jdbcTemplate.update("INSERT INTO users (id, email, password) VALUES (?, 'check@example.com', 'x')", userId);
+
+    // When & Then
+    assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update("""
+            INSERT INTO entries (id, user_id, upper_respiratory_value, lower_respiratory_value, skin_value, eyes_value)
+            VALUES (?, ?, 6, 0, 0, 0)
+            """, UUID.randomUUID(), userId));
+  }
+
+  @Test
+  void migrations_ShouldRepairLegacySymptomScoresBeforeCheckingThem() {
+    // Given
+    var dataSource = new DriverManagerDataSource(LEGACY_DATABASE_URL);
+    migrate(dataSource, "3");
+    var legacy = new JdbcTemplate(dataSource);
+    var userId = UUID.randomUUID();
+    var entryId = UUID.randomUUID();
+    legacy.update("INSERT INTO users (id, email, password) VALUES (?, 'legacy@example.com', 'x')", userId);
+    legacy.update("""
+            INSERT INTO entries (id, user_id, upper_respiratory_value, lower_respiratory_value, skin_value, eyes_value)
+            VALUES (?, ?, 7, -2, 100000, NULL)
+            """, entryId, userId);
+
+    // When
+    migrate(dataSource, "latest");
+
+    // Then
+    var scores = legacy.queryForMap("""
+            SELECT upper_respiratory_value, lower_respiratory_value, skin_value, eyes_value FROM entries WHERE id = ?
+            """, entryId);
+    assertEquals(5, ((Number) scores.get("upper_respiratory_value")).intValue());
+    assertEquals(0, ((Number) scores.get("lower_respiratory_value")).intValue());
+    assertEquals(5, ((Number) scores.get("skin_value")).intValue());
+    assertEquals(0, ((Number) scores.get("eyes_value")).intValue());
+  }
+
+  private static void migrate(DataSource dataSource, String target) {
+    Flyway.configure()
+            .dataSource(dataSource)
+            .locations("classpath:db/migration")
+            .target(target)
+            .load()
+            .migrate();
+  }
+}
@@ -0,0 +1,96 @@
+package org.example.allergytracker.domain.auth.repository;
+
+import org.example.allergytracker.domain.auth.service.RefreshTokenRevocations;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:revoked-refresh-tokens;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,DAY",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RevokedRefreshTokenRepositoryTest {
+
+  private static final UUID USER_ID = UUID.randomUUID();
+  private static final int EXPECTED_REVOCATIONS = 1000;
+
+  @Autowired
+  private RevokedRefreshTokenRepository revokedRefreshTokenRepository;
+
+  // Two application instances sharing one database.
+  private RefreshTokenRevocations instanceA;
+  private RefreshTokenRevocations instanceB;
+
+  @BeforeEach
+  void setUp() {
+    instanceA = new RefreshTokenRevocations(revokedRefreshTokenRepository, EXPECTED_REVOCATIONS);
+    instanceB = new RefreshTokenRevocations(revokedRefreshTokenRepository, EXPECTED_REVOCATIONS);
+    instanceA.rebuild();
+    instanceB.rebuild();
+  }
+
+  @Test
+  void revoke_OnOneInstance_ShouldBeHonoredByRunningInstanceAfterSync() {
+    // Given
+    var familyId = UUID.randomUUID();
+    instanceA.revoke(familyId, USER_ID, Instant.now().plusSeconds(60));
+
+    // When
+    instanceB.sync();
+
+    // Then
+    assertTrue(instanceB.isRevoked(familyId));
+    assertFalse(instanceB.isRevoked(UUID.randomUUID()));
+  }
+
+  @Test
+  void revoke_OnOneInstance_ShouldBeHonoredByFreshInstance() {
+    // Given
+    var familyId = UUID.randomUUID();
+    instanceA.revoke(familyId, USER_ID, Instant.now().plusSeconds(60));
+
+    // When
+    var fresh = new RefreshTokenRevocations(revokedRefreshTokenRepository, EXPECTED_REVOCATIONS);
+    fresh.rebuild();
+
+    // Then
+    assertTrue(fresh.isRevoked(familyId));
+  }
+
+  @Test
+  void revoke_OfTokenRotatedOnAnotherInstance_ShouldReportReuse() {
+    // Given
+    var tokenId = UUID.randomUUID();
+    assertTrue(instanceA.revoke(tokenId, USER_ID, Instant.now().plusSeconds(60)));
+
+    // When
+    var inserted = instanceB.revoke(tokenId, USER_ID, Instant.now().plusSeconds(60));
+
+    // Then
+    assertFalse(inserted);
+  }
+
+  @Test
+  void rebuild_ShouldPurgeExpiredRevocations() {
+    // Given
+    var expiredId = UUID.randomUUID();
+    var activeId = UUID.randomUUID();
+    instanceA.revoke(expiredId, USER_ID, Instant.now().minusSeconds(60));
+    instanceA.revoke(activeId, USER_ID, Instant.now().plusSeconds(60));
+
+    // When
+    instanceB.rebuild();
+
+    // Then
+    assertFalse(revokedRefreshTokenRepository.existsById(expiredId));
+    assertTrue(revokedRefreshTokenRepository.existsById(activeId));
+  }
+}
@@ -10,9 +10,13 @@ import org.example.allergytracker.domain.user.repository.UserRepository;
 import org.example.allergytracker.exception.auth.EmailAlreadyInUseException;
 import org.example.allergytracker.exception.auth.InvalidCredentialsException;
 import org.example.allergytracker.exception.auth.InvalidRefreshTokenException;
+import org.example.allergytracker.exception.auth.TooManyLoginAttemptsException;
 import org.example.allergytracker.exception.auth.UserNotFoundException;
+import org.example.allergytracker.security.DummyPasswordHash;
 import org.example.allergytracker.security.JwtTokenProvider;
 import org.example.allergytracker.security.cookie.CookieManager;
+import org.example.allergytracker.security.jwt.VerifiedToken;
+import org.example.allergytracker.security.ratelimit.LoginRateLimiter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,7 +24,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.IdGenerator;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -46,6 +53,18 @@ class AuthServiceTest {
   @Mock
   private EmailValidator emailValidator;
 
+  @Mock
+  private LoginRateLimiter loginRateLimiter;
+
+  @Mock
+  private DummyPasswordHash dummyPasswordHash;
+
+  @Mock
+  private RefreshTokenRevocations refreshTokenRevocations;
+
+  @Mock
+  private IdGenerator idGenerator;
+
   @Mock
   private HttpServletRequest request;
 
@@ -60,7 +79,10 @@ class AuthServiceTest {
   private static final String ENCODED_PASSWORD = "encodedPassword";
   private static final String ACCESS_TOKEN = "accessToken123";
   private static final String REFRESH_TOKEN = "refreshToken123";
+  private static final String ROTATED_REFRESH_TOKEN = "refreshToken456";
   private static final UUID USER_ID = UUID.randomUUID();
+  private static final UUID TOKEN_ID = UUID.randomUUID();
+  private static final UUID FAMILY_ID = UUID.randomUUID();
 
   @BeforeEach
   void setUp() {
@@ -71,20 +93,22 @@ class AuthServiceTest {
   void register_WithValidData_ShouldCreateUserAndReturnAuthResponse() {
     // Given
     var registerRequest = new RegisterRequest(TEST_EMAIL, TEST_PASSWORD);
-    when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.empty());
+    when(idGenerator.generateId()).thenReturn(USER_ID);
     when(passwordEncoder.encode(TEST_PASSWORD)).thenReturn(ENCODED_PASSWORD);
+    when(userRepository.insertIfAbsent(USER_ID, TEST_EMAIL, ENCODED_PASSWORD)).thenReturn(1);
     when(jwtTokenProvider.generateAccessToken(any(UUID.class), anyString())).thenReturn(ACCESS_TOKEN);
     when(jwtTokenProvider.generateRefreshToken(any(UUID.class), anyString())).thenReturn(REFRESH_TOKEN);
-    when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArgument(0));
 
     // When
-    var result = authService.register(registerRequest, response);
+    var result = authService.register(registerRequest, request, response);
 
     // Then
     assertNotNull(result);
     assertEquals(ACCESS_TOKEN, result.accessToken());
+    assertEquals(USER_ID, result.user().id());
     assertEquals(TEST_EMAIL, result.user().email());
-    verify(userRepository).save(any(User.class));
+    verify(userRepository, never()).findByEmail(anyString());
+    verify(userRepository, never()).save(any(User.class));
     verify(cookieManager).setCookie(eq(response), eq("refreshToken"), eq(REFRESH_TOKEN), anyInt());
   }
 
@@ -92,12 +116,13 @@ class AuthServiceTest {
   void register_WithExistingEmail_ShouldThrowEmailAlreadyInUseException() {
     // Given
     var registerRequest = new RegisterRequest(TEST_EMAIL, TEST_PASSWORD);
-    var existingUser = new User();
-    when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(existingUser));
+    when(idGenerator.generateId()).thenReturn(USER_ID);
+    when(passwordEncoder.encode(TEST_PASSWORD)).thenReturn(ENCODED_PASSWORD);
+    when(userRepository.insertIfAbsent(USER_ID, TEST_EMAIL, ENCODED_PASSWORD)).thenReturn(0);
 
     // When & Then
-    assertThrows(EmailAlreadyInUseException.class, () -> authService.register(registerRequest, response));
-    verify(userRepository, never()).save(any(User.class));
+    assertThrows(EmailAlreadyInUseException.class, () -> authService.register(registerRequest, request, response));
+    verify(jwtTokenProvider, never()).generateAccessToken(any(), any());
     verify(cookieManager, never()).setCookie(any(), anyString(), anyString(), anyInt());
   }
 
@@ -116,7 +141,7 @@ class AuthServiceTest {
     when(jwtTokenProvider.generateRefreshToken(USER_ID, TEST_EMAIL)).thenReturn(REFRESH_TOKEN);
 
     // When
-    var result = authService.login(loginRequest, response);
+    var result = authService.login(loginRequest, request, response);
 
     // Then
     assertNotNull(result);
@@ -131,10 +156,11 @@ class AuthServiceTest {
     // Given
     var loginRequest = new LoginRequest(TEST_EMAIL, TEST_PASSWORD);
     when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.empty());
+    when(dummyPasswordHash.value()).thenReturn(ENCODED_PASSWORD);
 
     // When & Then
-    assertThrows(InvalidCredentialsException.class, () -> authService.login(loginRequest, response));
-    verify(passwordEncoder, never()).matches(anyString(), anyString());
+    assertThrows(InvalidCredentialsException.class, () -> authService.login(loginRequest, request, response));
+    verify(passwordEncoder, times(1)).matches(TEST_PASSWORD, ENCODED_PASSWORD);
     verify(cookieManager, never()).setCookie(any(), anyString(), anyString(), anyInt());
   }
 
@@ -151,10 +177,23 @@ class AuthServiceTest {
     when(passwordEncoder.matches(TEST_PASSWORD, ENCODED_PASSWORD)).thenReturn(false);
 
     // When & Then
-    assertThrows(InvalidCredentialsException.class, () -> authService.login(loginRequest, response));
+    assertThrows(InvalidCredentialsException.class, () -> authService.login(loginRequest, request, response));
     verify(cookieManager, never()).setCookie(any(), anyString(), anyString(), anyInt());
   }
 
+  @Test
+  void login_WhenThrottled_ShouldRejectBeforeLookupAndHashing() {
+    // Given
+    var loginRequest = new LoginRequest(TEST_EMAIL, TEST_PASSWORD);
+    when(request.getRemoteAddr()).thenReturn("203.0.113.7");
+    doThrow(new TooManyLoginAttemptsException(Duration.ofSeconds(30)))
+            .when(loginRateLimiter).acquire(TEST_EMAIL, "203.0.113.7");
+
+    // When & Then
+    assertThrows(TooManyLoginAttemptsException.class, () -> authService.login(loginRequest, request, response));
+    verifyNoInteractions(userRepository, passwordEncoder);
+  }
+
   @Test
   void refresh_WithValidToken_ShouldReturnNewAuthResponse() {
     // Given
@@ -163,11 +202,12 @@ class AuthServiceTest {
     user.email(TEST_EMAIL);
 
     when(cookieManager.getCookie(request, "refreshToken")).thenReturn(Optional.of(REFRESH_TOKEN));
-    when(jwtTokenProvider.validateToken(REFRESH_TOKEN)).thenReturn(true);
-    when(jwtTokenProvider.getUserIdFromToken(REFRESH_TOKEN)).thenReturn(USER_ID);
+    var token = verifiedRefreshToken();
+    when(jwtTokenProvider.verify(REFRESH_TOKEN)).thenReturn(Optional.of(token));
+    when(refreshTokenRevocations.revoke(TOKEN_ID, USER_ID, token.expiresAt())).thenReturn(true);
     when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
     when(jwtTokenProvider.generateAccessToken(USER_ID, TEST_EMAIL)).thenReturn(ACCESS_TOKEN);
-    when(jwtTokenProvider.generateRefreshToken(USER_ID, TEST_EMAIL)).thenReturn(REFRESH_TOKEN);
+    when(jwtTokenProvider.generateRefreshToken(USER_ID, TEST_EMAIL, FAMILY_ID)).thenReturn(ROTATED_REFRESH_TOKEN);
 
     // When
     var result = authService.refresh(request, response);
@@ -176,7 +216,63 @@ class AuthServiceTest {
     assertNotNull(result);
     assertEquals(ACCESS_TOKEN, result.accessToken());
     assertEquals(TEST_EMAIL, result.user().email());
-    verify(cookieManager).setCookie(eq(response), eq("refreshToken"), eq(REFRESH_TOKEN), anyInt());
+    verify(refreshTokenRevocations).revoke(TOKEN_ID, USER_ID, token.expiresAt());
+    verify(cookieManager).setCookie(eq(response), eq("refreshToken"), eq(ROTATED_REFRESH_TOKEN), anyInt());
+  }
+
+  @Test
+  void refresh_WithAlreadyRotatedToken_ShouldRevokeWholeFamily() {
+    // Given
+    when(cookieManager.getCookie(request, "refreshToken")).thenReturn(Optional.of(REFRESH_TOKEN));
+    when(jwtTokenProvider.verify(REFRESH_TOKEN)).thenReturn(Optional.of(verifiedRefreshToken()));
+    when(jwtTokenProvider.refreshTokenValidity()).thenReturn(Duration.ofDays(7));
+    when(refreshTokenRevocations.isRevoked(FAMILY_ID)).thenReturn(false);
+    when(refreshTokenRevocations.revoke(eq(TOKEN_ID), eq(USER_ID), any(Instant.class))).thenReturn(false);
+
+    // When & Then
+    assertThrows(InvalidRefreshTokenException.class, () -> authService.refresh(request, response));
+    verify(refreshTokenRevocations).revoke(eq(FAMILY_ID), eq(USER_ID), any(Instant.class));
+    verify(refreshTokenRevocations, never()).isRevoked(TOKEN_ID);
+    verify(userRepository, never()).findById(any());
+    verify(cookieManager, never()).setCookie(any(), anyString(), anyString(), anyInt());
+  }
+
+  @Test
+  void refresh_WhenConcurrentRotationWonTheRace_ShouldRevokeWholeFamily() {
+    // Given
+    var token = verifiedRefreshToken();
+    when(cookieManager.getCookie(request, "refreshToken")).thenReturn(Optional.of(REFRESH_TOKEN));
+    when(jwtTokenProvider.verify(REFRESH_TOKEN)).thenReturn(Optional.of(token));
+    when(jwtTokenProvider.refreshTokenValidity()).thenReturn(Duration.ofDays(7));
+    when(refreshTokenRevocations.revoke(TOKEN_ID, USER_ID, token.expiresAt())).thenReturn(false);
+
+    // When & Then
+    assertThrows(InvalidRefreshTokenException.class, () -> authService.refresh(request, response));
+    verify(refreshTokenRevocations).revoke(eq(FAMILY_ID), eq(USER_ID), any(Instant.class));
+  }
+
+  @Test
+  void refresh_WithTokenFromRevokedFamily_ShouldThrowInvalidRefreshTokenException() {
+    // Given
+    when(cookieManager.getCookie(request, "refreshToken")).thenReturn(Optional.of(REFRESH_TOKEN));
+    when(jwtTokenProvider.verify(REFRESH_TOKEN)).thenReturn(Optional.of(verifiedRefreshToken()));
+    when(refreshTokenRevocations.isRevoked(FAMILY_ID)).thenReturn(true);
+
+    // When & Then
+    assertThrows(InvalidRefreshTokenException.class, () -> authService.refresh(request, response));
+    verify(refreshTokenRevocations, never()).revoke(any(), any(), any());
+  }
+
+  @Test
+  void refresh_WithAccessToken_ShouldThrowInvalidRefreshTokenException() {
+    // Given
+    when(cookieManager.getCookie(request, "refreshToken")).thenReturn(Optional.of(ACCESS_TOKEN));
+    when(jwtTokenProvider.verify(ACCESS_TOKEN))
+            .thenReturn(Optional.of(new VerifiedToken(USER_ID, TEST_EMAIL, null, null, Instant.now().plusSeconds(60))));
+
+    // When & Then
+    assertThrows(InvalidRefreshTokenException.class, () -> authService.refresh(request, response));
+    verifyNoInteractions(refreshTokenRevocations);
   }
 
   @Test
@@ -186,14 +282,14 @@ class AuthServiceTest {
 
     // When & Then
     assertThrows(InvalidRefreshTokenException.class, () -> authService.refresh(request, response));
-    verify(jwtTokenProvider, never()).validateToken(anyString());
+    verify(jwtTokenProvider, never()).verify(anyString());
   }
 
   @Test
   void refresh_WithInvalidToken_ShouldThrowInvalidRefreshTokenException() {
     // Given
     when(cookieManager.getCookie(request, "refreshToken")).thenReturn(Optional.of(REFRESH_TOKEN));
-    when(jwtTokenProvider.validateToken(REFRESH_TOKEN)).thenReturn(false);
+    when(jwtTokenProvider.verify(REFRESH_TOKEN)).thenReturn(Optional.empty());
 
     // When & Then
     assertThrows(InvalidRefreshTokenException.class, () -> authService.refresh(request, response));
@@ -204,8 +300,9 @@ class AuthServiceTest {
   void refresh_WithNonExistentUser_ShouldThrowUserNotFoundException() {
     // Given
     when(cookieManager.getCookie(request, "refreshToken")).thenReturn(Optional.of(REFRESH_TOKEN));
-    when(jwtTokenProvider.validateToken(REFRESH_TOKEN)).thenReturn(true);
-    when(jwtTokenProvider.getUserIdFromToken(REFRESH_TOKEN)).thenReturn(USER_ID);
+    var token = verifiedRefreshToken();
+    when(jwtTokenProvider.verify(REFRESH_TOKEN)).thenReturn(Optional.of(token));
+    when(refreshTokenRevocations.revoke(TOKEN_ID, USER_ID, token.expiresAt())).thenReturn(true);
     when(userRepository.findById(USER_ID)).thenReturn(Optional.empty());
 
     // When & Then
@@ -214,10 +311,35 @@ class AuthServiceTest {
 
   @Test
   void logout_ShouldClearRefreshTokenCookie() {
+    // Given
+    when(cookieManager.getCookie(request, "refreshToken")).thenReturn(Optional.empty());
+
     // When
-    authService.logout(response);
+    authService.logout(request, response);
 
     // Then
     verify(cookieManager).clearCookie(response, "refreshToken");
+    verifyNoInteractions(refreshTokenRevocations);
+  }
+
+  @Test
+  void logout_ShouldRevokeRefreshTokenAndItsFamily() {
+    // Given
+    var token = verifiedRefreshToken();
+    when(cookieManager.getCookie(request, "refreshToken")).thenReturn(Optional.of(REFRESH_TOKEN));
+    when(jwtTokenProvider.verify(REFRESH_TOKEN)).thenReturn(Optional.of(token));
+    when(jwtTokenProvider.refreshTokenValidity()).thenReturn(Duration.ofDays(7));
+
+    // When
+    authService.logout(request, response);
+
+    // Then
+    verify(refreshTokenRevocations).revoke(TOKEN_ID, USER_ID, token.expiresAt());
+    verify(refreshTokenRevocations).revoke(eq(FAMILY_ID), eq(USER_ID), any(Instant.class));
+    verify(cookieManager).clearCookie(response, "refreshToken");
+  }
+
+  private static VerifiedToken verifiedRefreshToken() {
+    return new VerifiedToken(USER_ID, TEST_EMAIL, TOKEN_ID, FAMILY_ID, Instant.now().plusSeconds(60));
   }
 }
@@ -0,0 +1,114 @@
+package org.example.allergytracker.domain.auth.service;
+
+import org.example.allergytracker.domain.auth.model.RevokedRefreshToken;
+import org.example.allergytracker.domain.auth.repository.RevokedRefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenRevocationsTest {
+
+  private static final UUID USER_ID = UUID.randomUUID();
+
+  @Mock
+  private RevokedRefreshTokenRepository revokedRefreshTokenRepository;
+
+  private RefreshTokenRevocations revocations;
+
+  @BeforeEach
+  void setUp() {
+    revocations = new RefreshTokenRevocations(revokedRefreshTokenRepository, 1000);
+  }
+
+  @Test
+  void isRevoked_ForUnknownId_ShouldNotQueryTable() {
+    // When
+    var revoked = revocations.isRevoked(UUID.randomUUID());
+
+    // Then
+    assertFalse(revoked);
+    verifyNoInteractions(revokedRefreshTokenRepository);
+  }
+
+  @Test
+  void sync_ShouldPickUpRevocationsMadeElsewhere() {
+    // Given
+    var tokenId = UUID.randomUUID();
+    var stored = new RevokedRefreshToken(tokenId, USER_ID, Instant.now().plusSeconds(60), Instant.now());
+    when(revokedRefreshTokenRepository.streamRevokedSince(any(), any())).thenReturn(Stream.of(stored));
+
+    // When
+    revocations.sync();
+
+    // Then
+    assertTrue(revocations.isRevoked(tokenId));
+    verify(revokedRefreshTokenRepository, never()).existsById(any());
+  }
+
+  @Test
+  void revoke_ShouldBeVisibleWithoutQueryingTable() {
+    // Given
+    var tokenId = UUID.randomUUID();
+    when(revokedRefreshTokenRepository.insertIfAbsent(eq(tokenId), eq(USER_ID), any(), any())).thenReturn(1);
+
+    // When
+    var inserted = revocations.revoke(tokenId, USER_ID, Instant.now().plusSeconds(60));
+
+    // Then
+    assertTrue(inserted);
+    assertTrue(revocations.isRevoked(tokenId));
+    verify(revokedRefreshTokenRepository, never()).existsById(any());
+  }
+
+  @Test
+  void revoke_WhenAlreadyRevoked_ShouldReportReuse() {
+    // Given
+    var tokenId = UUID.randomUUID();
+    when(revokedRefreshTokenRepository.insertIfAbsent(eq(tokenId), eq(USER_ID), any(), any())).thenReturn(0);
+
+    // When & Then
+    assertFalse(revocations.revoke(tokenId, USER_ID, Instant.now().plusSeconds(60)));
+  }
+
+  @Test
+  void rebuild_ShouldLoadUnexpiredRevocationsFromTable() {
+    // Given
+    var tokenId = UUID.randomUUID();
+    var stored = new RevokedRefreshToken(tokenId, USER_ID, Instant.now().plusSeconds(60), Instant.now());
+    when(revokedRefreshTokenRepository.streamUnexpired(any())).thenReturn(Stream.of(stored));
+
+    // When
+    revocations.rebuild();
+
+    // Then
+    assertTrue(revocations.isRevoked(tokenId));
+    verify(revokedRefreshTokenRepository).deleteExpired(any());
+    verify(revokedRefreshTokenRepository, never()).existsById(any());
+  }
+
+  @Test
+  void bloomFilter_ShouldNeverMissInsertedIds() {
+    // Given
+    var filter = new RevocationBloomFilter(1000, 0.01);
+    var ids = Stream.generate(UUID::randomUUID).limit(1000).toList();
+
+    // When
+    ids.forEach(filter::put);
+
+    // Then
+    assertTrue(ids.stream().allMatch(filter::mightContain));
+    var falsePositives = Stream.generate(UUID::randomUUID).limit(10_000).filter(filter::mightContain).count();
+    assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+  }
+}
@@ -0,0 +1,240 @@
+package org.example.allergytracker.domain.entry.controller;
+
+import org.example.allergytracker.domain.entry.model.Entry;
+import org.example.allergytracker.domain.entry.model.ExposureType;
+import org.example.allergytracker.domain.entry.model.Note;
+import org.example.allergytracker.domain.entry.model.Symptoms;
+import org.example.allergytracker.domain.entry.service.CompactEntryService;
+import org.example.allergytracker.domain.entry.service.DailySymptomRollupService;
+import org.example.allergytracker.domain.entry.service.EntryDeletionRetentionService;
+import org.example.allergytracker.domain.entry.service.EntryService;
+import org.example.allergytracker.domain.entry.service.ExposureTypeService;
+import org.example.allergytracker.domain.entry.service.SymptomStatsService;
+import org.example.allergytracker.domain.entry.validator.DefaultEntryValidator;
+import org.example.allergytracker.domain.user.model.User;
+import org.example.allergytracker.exception.entry.InvalidEntryException;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:entry-controller;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,DAY",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "org.example.allergytracker.domain.entry.controller.EntryControllerTest$RecordingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({
+        EntryController.class, EntryService.class, ExposureTypeService.class, EntryExportWriter.class,
+        DefaultEntryValidator.class, SymptomStatsService.class, DailySymptomRollupService.class, CompactEntryService.class,
+        EntryDeletionRetentionService.class
+})
+class EntryControllerTest {
+
+  private static final String JOIN_TABLE = "entry_exposure_types";
+  // The exposure catalog is cached for the whole context, so every test recreates the same rows.
+  private static final UUID CAT_ID = UUID.fromString("00000000-0000-7000-8000-000000000001");
+  private static final UUID DUST_ID = UUID.fromString("00000000-0000-7000-8000-000000000002");
+  private static final UUID POLLEN_ID = UUID.fromString("00000000-0000-7000-8000-000000000003");
+  private static final Instant OCCURRED_ON = Instant.parse("2025-11-01T08:00:00Z");
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private EntryController entryController;
+
+  @Autowired
+  private ExposureTypeService exposureTypeService;
+
+  private Entry entry;
+
+  @BeforeEach
+  void setUp() {
+    var user = new User();
+    user.id(UUID.randomUUID());
+    user.email("test@example.com");
+    user.password("encodedPassword");
+    entityManager.persist(user);
+
+    var cat = entityManager.persist(new ExposureType(CAT_ID, "Cat", "Cat allergen"));
+    var dust = entityManager.persist(new ExposureType(DUST_ID, "Dust", "Dust allergen"));
+    entityManager.persist(new ExposureType(POLLEN_ID, "Pollen", "Pollen allergen"));
+
+    entry = entityManager.persist(new Entry(
+            null,
+            user,
+            OCCURRED_ON,
+            new Symptoms(1),
+            new Symptoms(2),
+            new Symptoms(3),
+            new Symptoms(4),
+            new Note("Note"),
+            Instant.now(),
+            Instant.now(),
+            new LinkedHashSet<>(List.of(cat, dust)),
+            null
+    ));
+    entityManager.flush();
+    entityManager.clear();
+
+    SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user.id(), null, List.of()));
+    exposureTypeService.catalog();
+    RecordingStatementInspector.STATEMENTS.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void updateEntry_WithUnchangedExposures_ShouldNotTouchJoinTable() {
+    // When
+    var updated = entryController.updateEntry(entry.id(), dto(5, List.of("Dust", "Cat")));
+
+    // Then
+    assertEquals(5, updated.skin());
+    assertEquals(Set.of("Cat", "Dust"), Set.copyOf(updated.exposures()));
+    assertEquals(1, countStatements("update entries"));
+    assertEquals(0, countStatements("insert into " + JOIN_TABLE));
+    assertEquals(0, countStatements("delete from " + JOIN_TABLE));
+    assertEquals(0, countExposureTypeSelects());
+  }
+
+  @Test
+  void updateEntry_WithOneExposureSwapped_ShouldWriteOnlyThatPair() {
+    // When
+    var updated = entryController.updateEntry(entry.id(), dto(3, List.of("Cat", "Pollen")));
+
+    // Then
+    assertEquals(Set.of("Cat", "Pollen"), Set.copyOf(updated.exposures()));
+    assertEquals(1, countStatements("insert into " + JOIN_TABLE));
+    assertEquals(1, countStatements("delete from " + JOIN_TABLE));
+    // Only the added exposure is read, for the response.
+    assertEquals(1, countExposureTypeSelects());
+  }
+
+  @Test
+  void createEntry_ShouldLinkExposuresWithoutLoadingThemOneByOne() {
+    // When
+    var created = entryController.createEntry(dto(2, List.of("Cat", "Dust", "Pollen")));
+
+    // Then
+    assertEquals(List.of("Cat", "Dust", "Pollen"), created.exposures().stream().sorted().toList());
+    assertEquals(1, countExposureTypeSelects());
+  }
+
+  @Test
+  void createEntry_WithClientVersion_ShouldStartAtFirstVersion() {
+    // When
+    var created = entryController.createEntry(dto(2, List.of("Cat")).withVersion(42L));
+    var batch = entryController.createEntries(List.of(dto(2, List.of("Dust")).withVersion(42L)));
+    entityManager.clear();
+
+    // Then
+    assertEquals(0L, created.version());
+    assertEquals(0L, batch.created().getFirst().version());
+    assertEquals(0L, entityManager.find(Entry.class, created.id()).version());
+    assertEquals(0L, entityManager.find(Entry.class, batch.created().getFirst().id()).version());
+  }
+
+  @Test
+  void createEntries_WithNullItemAndNullExposure_ShouldReportThemAndCreateTheRest() {
+    // Given
+    var batch = Arrays.asList(null, dto(2, Arrays.asList("Cat", null)), dto(2, List.of("Dust")));
+
+    // When
+    var result = entryController.createEntries(batch);
+
+    // Then
+    assertEquals(1, result.created().size());
+    assertEquals(List.of("Dust"), result.created().getFirst().exposures());
+    assertEquals(List.of(
+            new EntryBatchErrorDto(0, List.of("Entry must not be null")),
+            new EntryBatchErrorDto(1, List.of("exposures must not contain null"))
+    ), result.errors());
+  }
+
+  @Test
+  void updateEntry_WithDuplicateExposureNames_ShouldStoreEachPairOnce() {
+    // When
+    var updated = entryController.updateEntry(entry.id(), dto(3, List.of("Cat", "Dust", "Pollen", "Pollen")));
+
+    // Then
+    assertEquals(List.of("Cat", "Dust", "Pollen"), updated.exposures().stream().sorted().toList());
+    assertEquals(1, countStatements("insert into " + JOIN_TABLE));
+    assertEquals(0, countStatements("delete from " + JOIN_TABLE));
+  }
+
+  @Test
+  void createEntry_WithOutOfRangeScore_ShouldRejectEntry() {
+    // When
+    var exception = assertThrows(InvalidEntryException.class, () -> entryController.createEntry(dto(6, List.of("Cat"))));
+
+    // Then
+    assertEquals("skin must be between 0 and 5", exception.getMessage());
+    assertEquals(0, countStatements("insert"));
+  }
+
+  @Test
+  void updateEntry_WithOutOfRangeScore_ShouldLeaveEntryUnchanged() {
+    // When
+    var exception = assertThrows(InvalidEntryException.class, () -> entryController.updateEntry(entry.id(), dto(-1, List.of("Cat"))));
+
+    // Then
+    assertEquals("skin must be between 0 and 5", exception.getMessage());
+    assertEquals(0, countStatements("update"));
+    assertEquals(3, entityManager.find(Entry.class, entry.id()).skin().value());
+  }
+
+  private EntryDto dto(int skin, List<String> exposures) {
+    return new EntryDto(null, null, OCCURRED_ON, 1, 2, skin, 4, 0, exposures, "Note", entry.version());
+  }
+
+  private static long countStatements(String prefix) {
+    return RecordingStatementInspector.STATEMENTS.stream()
+            .filter(sql -> sql.toLowerCase(Locale.ROOT).startsWith(prefix))
+            .count();
+  }
+
+  private static long countExposureTypeSelects() {
+    return RecordingStatementInspector.STATEMENTS.stream()
+            .filter(sql -> sql.toLowerCase(Locale.ROOT).contains(" from exposure_types "))
+            .count();
+  }
+
+  public static class RecordingStatementInspector implements StatementInspector {
+
+    static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+      STATEMENTS.add(sql);
+      return sql;
+    }
+  }
+}
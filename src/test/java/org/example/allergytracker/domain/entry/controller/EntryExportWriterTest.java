@@ -0,0 +1,139 @@
+package org.example.allergytracker.domain.entry.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.allergytracker.domain.entry.model.Entry;
+import org.example.allergytracker.domain.entry.model.ExposureType;
+import org.example.allergytracker.domain.entry.model.Note;
+import org.example.allergytracker.domain.entry.model.Symptoms;
+import org.example.allergytracker.domain.entry.service.EntryService;
+import org.example.allergytracker.exception.entry.UnsupportedExportFormatException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class EntryExportWriterTest {
+
+  private static final UUID USER_ID = UUID.randomUUID();
+  private static final UUID FIRST_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+  private static final UUID SECOND_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+  private EntryService entryService;
+  private EntryExportWriter writer;
+
+  @BeforeEach
+  void setUp() {
+    entryService = mock(EntryService.class);
+    writer = new EntryExportWriter(entryService, new ObjectMapper());
+
+    var cat = new ExposureType(UUID.randomUUID(), "Cat", null);
+    var dust = new ExposureType(UUID.randomUUID(), "Dust", null);
+    var first = entry(FIRST_ID, "2025-11-01T10:00:00Z", List.of(cat, dust), "Visited \"Tom\", sneezing");
+    var second = entry(SECOND_ID, "2025-11-02T10:00:00Z", List.of(), null);
+    stubEntries(first, second);
+  }
+
+  @Test
+  void write_AsNdjson_ShouldWriteOneJsonObjectPerLine() throws Exception {
+    // Given
+    var out = new ByteArrayOutputStream();
+
+    // When
+    writer.write(USER_ID, EntryExportFormat.NDJSON, out);
+
+    // Then
+    var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(2, lines.length);
+    var mapper = new ObjectMapper();
+    var first = mapper.readTree(lines[0]);
+    assertEquals(FIRST_ID.toString(), first.get("id").asText());
+    assertEquals(10, first.get("total").asInt());
+    assertEquals("Dust", first.get("exposures").get(1).asText());
+    assertEquals("Visited \"Tom\", sneezing", first.get("note").asText());
+    assertTrue(mapper.readTree(lines[1]).get("note").isNull());
+  }
+
+  @Test
+  void write_AsCsv_ShouldWriteHeaderAndEscapedRows() throws Exception {
+    // Given
+    var out = new ByteArrayOutputStream();
+
+    // When
+    writer.write(USER_ID, EntryExportFormat.CSV, out);
+
+    // Then
+    var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(3, lines.length);
+    assertEquals("id,occurredOn,upperRespiratory,lowerRespiratory,skin,eyes,total,exposures,note", lines[0]);
+    assertEquals(FIRST_ID + ",2025-11-01T10:00:00Z,1,2,3,4,10,Cat;Dust,\"Visited \"\"Tom\"\", sneezing\"", lines[1]);
+    assertEquals(SECOND_ID + ",2025-11-02T10:00:00Z,1,2,3,4,10,,", lines[2]);
+  }
+
+  @Test
+  void write_WithEntryWithoutDate_ShouldExportItWithoutDate() throws Exception {
+    // Given
+    var undated = entry(FIRST_ID, null, List.of(), "No date");
+    var dated = entry(SECOND_ID, "2025-11-02T10:00:00Z", List.of(), null);
+    stubEntries(undated, dated);
+    var ndjson = new ByteArrayOutputStream();
+    var csv = new ByteArrayOutputStream();
+
+    // When
+    writer.write(USER_ID, EntryExportFormat.NDJSON, ndjson);
+    writer.write(USER_ID, EntryExportFormat.CSV, csv);
+
+    // Then
+    var jsonLines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(2, jsonLines.length);
+    assertTrue(new ObjectMapper().readTree(jsonLines[0]).get("occurredOn").isNull());
+    var csvLines = csv.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(3, csvLines.length);
+    assertEquals(FIRST_ID + ",,1,2,3,4,10,,No date", csvLines[1]);
+    assertEquals(SECOND_ID + ",2025-11-02T10:00:00Z,1,2,3,4,10,,", csvLines[2]);
+  }
+
+  @Test
+  void fromExtension_WithUnknownFormat_ShouldThrowException() {
+    assertThrows(UnsupportedExportFormatException.class, () -> EntryExportFormat.fromExtension("xml"));
+    assertEquals(EntryExportFormat.CSV, EntryExportFormat.fromExtension("CSV"));
+  }
+
+  @SuppressWarnings("unchecked")
+  private void stubEntries(Entry... entries) {
+    doAnswer(invocation -> {
+      Consumer<Entry> action = invocation.getArgument(1);
+      for (var entry : entries) {
+        action.accept(entry);
+      }
+      return null;
+    }).when(entryService).forEachByUserId(eq(USER_ID), any(Consumer.class));
+  }
+
+  private static Entry entry(UUID id, String occurredOn, List<ExposureType> exposureTypes, String note) {
+    return new Entry(
+            id,
+            null,
+            occurredOn != null ? Instant.parse(occurredOn) : null,
+            new Symptoms(1),
+            new Symptoms(2),
+            new Symptoms(3),
+            new Symptoms(4),
+            new Note(note),
+            Instant.now(),
+            Instant.now(),
+            new LinkedHashSet<>(exposureTypes),
+            null
+    );
+  }
+}
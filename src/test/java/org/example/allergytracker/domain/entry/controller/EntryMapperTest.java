@@ -9,7 +9,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.example.allergytracker.domain.entry.controller.EntryMapper.fromDto;
@@ -49,7 +51,8 @@ class EntryMapperTest {
             new Note(NOTE_TEXT),
             Instant.now(),
             Instant.now(),
-            List.of(EXPOSURE_1, EXPOSURE_2)
+            new LinkedHashSet<>(List.of(EXPOSURE_1, EXPOSURE_2)),
+            null
     );
   }
 
@@ -84,7 +87,8 @@ class EntryMapperTest {
         EYES,
         UPPER_RESPIRATORY + LOWER_RESPIRATORY + SKIN + EYES,
         List.of("Cat", "Dust"),
-        NOTE_TEXT
+        NOTE_TEXT,
+        3L
     );
     var exposureTypes = List.of(EXPOSURE_1, EXPOSURE_2);
 
@@ -99,7 +103,8 @@ class EntryMapperTest {
     assertEquals(SKIN, actualEntry.skin().value());
     assertEquals(EYES, actualEntry.eyes().value());
     assertEquals(NOTE_TEXT, actualEntry.note().map(Note::value).orElse(null));
-    assertEquals(exposureTypes, actualEntry.exposureTypes());
+    assertEquals(Set.copyOf(exposureTypes), actualEntry.exposureTypes());
+    assertEquals(3L, actualEntry.version());
   }
 
   @Test
@@ -141,7 +146,8 @@ class EntryMapperTest {
         new Note(null),
         Instant.now(),
         Instant.now(),
-        List.of(EXPOSURE_1)
+        new LinkedHashSet<>(List.of(EXPOSURE_1)),
+        null
     );
 
     // When
@@ -165,7 +171,8 @@ class EntryMapperTest {
         new Note(null),
         Instant.now(),
         Instant.now(),
-        List.of()
+        new LinkedHashSet<>(),
+        null
     );
 
     // When
@@ -189,7 +196,8 @@ class EntryMapperTest {
         new Note(null),
         Instant.now(),
         Instant.now(),
-        List.of()
+        new LinkedHashSet<>(),
+        null
     );
 
     // When
@@ -213,7 +221,8 @@ class EntryMapperTest {
         new Note("Note"),
         Instant.now(),
         Instant.now(),
-        List.of()
+        new LinkedHashSet<>(),
+        null
     );
 
     // When
@@ -233,7 +242,8 @@ class EntryMapperTest {
             ENTRY_INSTANT,
         1, 1, 1, 1, 4,
         List.of(),
-        "Note"
+        "Note",
+        null
     );
 
     // When
@@ -253,7 +263,8 @@ class EntryMapperTest {
             ENTRY_INSTANT,
         1, 1, 1, 1, 4,
         List.of(),
-        "Note"
+        "Note",
+        null
     );
 
     // When
@@ -274,6 +285,7 @@ class EntryMapperTest {
         specificInstant,
         1, 1, 1, 1, 4,
         List.of(),
+        null,
         null
     );
 
@@ -302,7 +314,8 @@ class EntryMapperTest {
         new Note(null),
         Instant.now(),
         Instant.now(),
-        List.of(exp1, exp2, exp3)
+        new LinkedHashSet<>(List.of(exp1, exp2, exp3)),
+        null
     );
 
     // When
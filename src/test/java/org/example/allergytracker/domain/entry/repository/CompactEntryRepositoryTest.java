@@ -0,0 +1,206 @@
+package org.example.allergytracker.domain.entry.repository;
+
+import org.example.allergytracker.domain.entry.model.CompactEntry;
+import org.example.allergytracker.domain.entry.model.Entry;
+import org.example.allergytracker.domain.entry.model.ExposureType;
+import org.example.allergytracker.domain.entry.model.Note;
+import org.example.allergytracker.domain.entry.model.Symptoms;
+import org.example.allergytracker.domain.entry.service.CompactEntryService;
+import org.example.allergytracker.domain.entry.service.DailySymptomRollupService;
+import org.example.allergytracker.domain.entry.service.EntryDeletionRetentionService;
+import org.example.allergytracker.domain.entry.service.EntryService;
+import org.example.allergytracker.domain.entry.service.StatsGranularity;
+import org.example.allergytracker.domain.entry.service.SymptomStatsService;
+import org.example.allergytracker.domain.user.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:compact-entries;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,DAY",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "entries.compact-storage.enabled=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        EntryService.class, SymptomStatsService.class, DailySymptomRollupService.class, CompactEntryService.class,
+        EntryDeletionRetentionService.class
+})
+class CompactEntryRepositoryTest {
+
+  private static final int ENTRY_COUNT = 10;
+  private static final Instant FIRST_OCCURRED_ON = Instant.parse("2025-11-01T08:00:00Z");
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private EntryService entryService;
+
+  @Autowired
+  private SymptomStatsService symptomStatsService;
+
+  @Autowired
+  private CompactEntryService compactEntryService;
+
+  @Autowired
+  private CompactEntryRepository compactEntryRepository;
+
+  @Autowired
+  private EntryRepository entryRepository;
+
+  private Statistics statistics;
+  private User user;
+  private ExposureType cat;
+  private ExposureType dust;
+  private List<Entry> entries;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+
+    user = new User();
+    user.id(UUID.randomUUID());
+    user.email("test@example.com");
+    user.password("encodedPassword");
+    entityManager.persist(user);
+
+    cat = entityManager.persist(new ExposureType(UUID.randomUUID(), "Cat", "Cat allergen"));
+    dust = entityManager.persist(new ExposureType(UUID.randomUUID(), "Dust", "Dust allergen"));
+
+    entries = new ArrayList<>();
+    for (int i = 0; i < ENTRY_COUNT; i++) {
+      entries.add(entityManager.persist(entryAt(FIRST_OCCURRED_ON.plus(i, ChronoUnit.DAYS), i % 6, List.of(cat, dust))));
+    }
+    entityManager.flush();
+    compactEntryService.rebuild();
+    entityManager.clear();
+    statistics.clear();
+  }
+
+  @Test
+  void rebuild_ShouldCopyScoresAndExposuresInline() {
+    // When
+    var compactEntry = compactEntryRepository.findById(entries.get(3).id()).orElseThrow();
+
+    // Then
+    assertEquals(ENTRY_COUNT, compactEntryRepository.count());
+    assertEquals(user.id(), compactEntry.userId());
+    assertEquals(3, compactEntry.upperRespiratory());
+    assertEquals(3, compactEntry.eyes());
+    assertEquals(List.of(cat.id(), dust.id()), List.of(compactEntry.exposureTypeIds()).stream().sorted(this::byCatThenDust).toList());
+  }
+
+  @Test
+  void findById_ShouldLoadExposuresWithoutJoin() {
+    // When
+    var compactEntry = compactEntryRepository.findById(entries.getFirst().id()).orElseThrow();
+
+    // Then
+    assertEquals(2, compactEntry.exposureTypeIds().length);
+    assertEquals(1, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void save_ShouldAddCompactEntry() {
+    // When
+    var saved = entryService.save(entryAt(FIRST_OCCURRED_ON.plus(1, ChronoUnit.HOURS), 5, List.of(cat)), user.id());
+    entityManager.flush();
+    entityManager.clear();
+
+    // Then
+    var compactEntry = compactEntryRepository.findById(saved.id()).orElseThrow();
+    assertEquals(5, compactEntry.skin());
+    assertArrayEquals(new UUID[] {cat.id()}, compactEntry.exposureTypeIds());
+  }
+
+  @Test
+  void update_ShouldRewriteCompactEntry() {
+    // Given
+    var original = entries.getFirst();
+    var changes = entryAt(original.occurredOn(), 4, List.of(dust));
+
+    // When
+    entryService.update(original.id(), user.id(), changes);
+    entityManager.flush();
+    entityManager.clear();
+
+    // Then
+    var compactEntry = compactEntryRepository.findById(original.id()).orElseThrow();
+    assertEquals(4, compactEntry.lowerRespiratory());
+    assertArrayEquals(new UUID[] {dust.id()}, compactEntry.exposureTypeIds());
+  }
+
+  @Test
+  void delete_ShouldRemoveCompactEntries() {
+    // When
+    entryService.deleteByIdAndUserId(entries.getFirst().id(), user.id());
+    entryService.deleteByUserIdAndOccurredOnRange(user.id(), FIRST_OCCURRED_ON.plus(5, ChronoUnit.DAYS), FIRST_OCCURRED_ON.plus(100, ChronoUnit.DAYS));
+    entityManager.flush();
+    entityManager.clear();
+
+    // Then
+    assertEquals(4, compactEntryRepository.count());
+    assertEquals(4, entryRepository.count());
+  }
+
+  @Test
+  void aggregate_ShouldMatchAggregationOverEntries() {
+    // Given
+    var from = FIRST_OCCURRED_ON.minus(1, ChronoUnit.HOURS);
+    var to = FIRST_OCCURRED_ON.plus(30, ChronoUnit.DAYS);
+
+    // When
+    var fromCompact = symptomStatsService.aggregate(user.id(), from, to, StatsGranularity.WEEK, ZoneId.of("Europe/Warsaw"));
+    var fromEntries = entryRepository.aggregateSymptoms(user.id(), from, to, StatsGranularity.WEEK.unit(), "Europe/Warsaw");
+
+    // Then
+    assertEquals(fromEntries.size(), fromCompact.size());
+    for (int i = 0; i < fromEntries.size(); i++) {
+      assertEquals(fromEntries.get(i).getBucket(), fromCompact.get(i).getBucket());
+      assertEquals(fromEntries.get(i).getEntryCount(), fromCompact.get(i).getEntryCount());
+      assertEquals(fromEntries.get(i).getSkinSum(), fromCompact.get(i).getSkinSum());
+      assertEquals(fromEntries.get(i).getTotalMax(), fromCompact.get(i).getTotalMax());
+    }
+  }
+
+  private int byCatThenDust(UUID left, UUID right) {
+    return Boolean.compare(!left.equals(cat.id()), !right.equals(cat.id()));
+  }
+
+  private Entry entryAt(Instant occurredOn, int value, List<ExposureType> exposureTypes) {
+    return new Entry(
+            null,
+            user,
+            occurredOn,
+            new Symptoms(value),
+            new Symptoms(value),
+            new Symptoms(value),
+            new Symptoms(value),
+            new Note(null),
+            Instant.now(),
+            Instant.now(),
+            new LinkedHashSet<>(exposureTypes),
+            null
+    );
+  }
+}
@@ -0,0 +1,537 @@
+package org.example.allergytracker.domain.entry.repository;
+
+import org.example.allergytracker.domain.entry.controller.EntryDto;
+import org.example.allergytracker.domain.entry.controller.EntryMapper;
+import org.example.allergytracker.domain.entry.model.Entry;
+import org.example.allergytracker.domain.entry.model.EntryDeletion;
+import org.example.allergytracker.domain.entry.model.ExposureType;
+import org.example.allergytracker.domain.entry.model.Note;
+import org.example.allergytracker.domain.entry.model.Symptoms;
+import org.example.allergytracker.domain.entry.model.DailySymptomRollupId;
+import org.example.allergytracker.domain.entry.service.CompactEntryService;
+import org.example.allergytracker.domain.entry.service.DailySymptomRollupService;
+import org.example.allergytracker.domain.entry.service.EntryDeletionRetentionService;
+import org.example.allergytracker.domain.entry.service.EntryService;
+import org.example.allergytracker.domain.entry.service.StatsGranularity;
+import org.example.allergytracker.domain.entry.service.SymptomStatsService;
+import org.example.allergytracker.domain.user.model.User;
+import org.example.allergytracker.exception.auth.UserNotFoundException;
+import org.example.allergytracker.exception.entry.EntryVersionConflictException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:entries;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,DAY",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.database-platform=org.example.allergytracker.H2ConstraintNameDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        EntryService.class, SymptomStatsService.class, DailySymptomRollupService.class, CompactEntryService.class,
+        EntryDeletionRetentionService.class
+})
+class EntryRepositoryTest {
+
+  private static final int ENTRY_COUNT = 20;
+  private static final Instant FIRST_OCCURRED_ON = Instant.parse("2025-11-01T08:00:00Z");
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private EntryService entryService;
+
+  @Autowired
+  private SymptomStatsService symptomStatsService;
+
+  @Autowired
+  private DailySymptomRollupService dailySymptomRollupService;
+
+  @Autowired
+  private EntryRepository entryRepository;
+
+  @Autowired
+  private DailySymptomRollupRepository dailySymptomRollupRepository;
+
+  @Autowired
+  private EntryDeletionRepository entryDeletionRepository;
+
+  @Autowired
+  private EntryDeletionRetentionService entryDeletionRetentionService;
+
+  private Statistics statistics;
+  private User user;
+  private List<Entry> entries;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+
+    user = new User();
+    user.id(UUID.randomUUID());
+    user.email("test@example.com");
+    user.password("encodedPassword");
+    entityManager.persist(user);
+
+    var cat = entityManager.persist(new ExposureType(UUID.randomUUID(), "Cat", "Cat allergen"));
+    var dust = entityManager.persist(new ExposureType(UUID.randomUUID(), "Dust", "Dust allergen"));
+
+    entries = new ArrayList<>();
+    for (int i = 0; i < ENTRY_COUNT; i++) {
+      var entry = new Entry(
+              null,
+              user,
+              FIRST_OCCURRED_ON.plus(i, ChronoUnit.DAYS),
+              new Symptoms(1),
+              new Symptoms(2),
+              new Symptoms(3),
+              new Symptoms(4),
+              new Note("Note " + i),
+              Instant.now(),
+              Instant.now(),
+              new LinkedHashSet<>(List.of(cat, dust)),
+              null
+      );
+      entries.add(entityManager.persist(entry));
+    }
+    entityManager.flush();
+    dailySymptomRollupService.rebuild();
+    entityManager.clear();
+    statistics.clear();
+  }
+
+  @Test
+  void findPageByUserId_ShouldProjectEntriesWithExposuresInTwoStatementsWithoutLoadingEntities() {
+    // When
+    var page = entryService.findPageByUserId(user.id(), null, null, null, ENTRY_COUNT);
+    var dtos = page.entries().stream().map(EntryMapper::toDto).toList();
+
+    // Then
+    assertEquals(ENTRY_COUNT, dtos.size());
+    assertTrue(dtos.stream().allMatch(dto -> dto.exposures().size() == 2));
+    assertTrue(dtos.stream().allMatch(dto -> user.id().equals(dto.userId())));
+    assertTrue(dtos.stream().allMatch(dto -> dto.total() == 10 && dto.note().startsWith("Note ")));
+    assertEquals(2, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+  }
+
+  @Test
+  void findByIdAndUserId_ShouldLoadEntryWithExposuresInOneStatement() {
+    // Given
+    var entryId = entries.getFirst().id();
+
+    // When
+    var dto = entryService.findByIdAndUserId(entryId, user.id())
+            .map(EntryMapper::toDto)
+            .orElseThrow();
+
+    // Then
+    assertEquals(2, dto.exposures().size());
+    assertEquals(user.id(), dto.userId());
+    assertEquals(1, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void findPageByUserId_ShouldWalkPagesInDescendingOrder() {
+    // When
+    var firstPage = entryService.findPageByUserId(user.id(), null, null, null, 15);
+    var secondPage = entryService.findPageByUserId(user.id(), null, null, firstPage.nextCursor().orElseThrow(), 15);
+
+    // Then
+    assertEquals(15, firstPage.entries().size());
+    assertEquals(5, secondPage.entries().size());
+    assertTrue(secondPage.nextCursor().isEmpty());
+    assertEquals(FIRST_OCCURRED_ON.plus(ENTRY_COUNT - 1, ChronoUnit.DAYS), firstPage.entries().getFirst().occurredOn());
+    assertEquals(FIRST_OCCURRED_ON, secondPage.entries().getLast().occurredOn());
+  }
+
+  @Test
+  void findPageByUserId_ShouldRespectDateRange() {
+    // Given
+    var from = FIRST_OCCURRED_ON.plus(5, ChronoUnit.DAYS);
+    var to = FIRST_OCCURRED_ON.plus(10, ChronoUnit.DAYS);
+
+    // When
+    var page = entryService.findPageByUserId(user.id(), from, to, null, ENTRY_COUNT);
+
+    // Then
+    assertEquals(5, page.entries().size());
+    assertTrue(page.entries().stream().allMatch(e -> !e.occurredOn().isBefore(from) && e.occurredOn().isBefore(to)));
+  }
+
+  @Test
+  void forEachByUserId_ShouldStreamEntriesOldestFirstWithExposures() {
+    // Given
+    var visited = new ArrayList<Entry>();
+
+    // When
+    entryService.forEachByUserId(user.id(), visited::add);
+
+    // Then
+    assertEquals(ENTRY_COUNT, visited.size());
+    assertEquals(FIRST_OCCURRED_ON, visited.getFirst().occurredOn());
+    assertTrue(visited.stream().allMatch(e -> e.exposureTypes().size() == 2));
+    assertEquals(1, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void aggregate_ShouldGroupEntriesPerDay() {
+    // When
+    var rows = symptomStatsService.aggregate(user.id(), null, null, StatsGranularity.DAY, ZoneId.of("UTC"));
+
+    // Then
+    assertEquals(ENTRY_COUNT, rows.size());
+    var first = rows.getFirst();
+    assertEquals(LocalDate.of(2025, 11, 1), first.getBucket());
+    assertEquals(1, first.getEntryCount());
+    assertEquals(3, first.getSkinSum());
+    assertEquals(10, first.getTotalMax());
+  }
+
+  @Test
+  void aggregate_ShouldGroupEntriesPerMonth() {
+    // When
+    var rows = symptomStatsService.aggregate(user.id(), null, null, StatsGranularity.MONTH, ZoneId.of("UTC"));
+
+    // Then
+    assertEquals(1, rows.size());
+    var november = rows.getFirst();
+    assertEquals(LocalDate.of(2025, 11, 1), november.getBucket());
+    assertEquals(ENTRY_COUNT, november.getEntryCount());
+    assertEquals(ENTRY_COUNT * 2L, november.getLowerRespiratorySum());
+    assertEquals(4, november.getEyesMax());
+  }
+
+  @Test
+  void aggregate_ShouldReadRawEntriesWhenBoundsAreNotWholeDays() {
+    // Given
+    var from = FIRST_OCCURRED_ON.minus(1, ChronoUnit.HOURS);
+
+    // When
+    var fromEntries = symptomStatsService.aggregate(user.id(), from, null, StatsGranularity.WEEK, ZoneId.of("UTC"));
+    var fromRollup = symptomStatsService.aggregate(user.id(), null, null, StatsGranularity.WEEK, ZoneId.of("UTC"));
+
+    // Then
+    assertEquals(fromEntries.size(), fromRollup.size());
+    for (int i = 0; i < fromEntries.size(); i++) {
+      assertEquals(fromEntries.get(i).getBucket(), fromRollup.get(i).getBucket());
+      assertEquals(fromEntries.get(i).getEntryCount(), fromRollup.get(i).getEntryCount());
+      assertEquals(fromEntries.get(i).getTotalSum(), fromRollup.get(i).getTotalSum());
+      assertEquals(fromEntries.get(i).getTotalMax(), fromRollup.get(i).getTotalMax());
+    }
+  }
+
+  @Test
+  void rebuild_ShouldStoreOneRowPerUserDay() {
+    // When
+    var rollup = dailySymptomRollupRepository.findById(new DailySymptomRollupId(user.id(), LocalDate.of(2025, 11, 1)));
+
+    // Then
+    assertEquals(ENTRY_COUNT, dailySymptomRollupRepository.count());
+    assertTrue(rollup.isPresent());
+    assertEquals(1, rollup.get().entryCount());
+    assertEquals(10, rollup.get().totalSum());
+    assertEquals(2, rollup.get().exposureCount());
+  }
+
+  @Test
+  void save_ShouldApplyDeltaToDailyRollup() {
+    // Given
+    var day = new DailySymptomRollupId(user.id(), LocalDate.of(2025, 11, 1));
+    var severe = entryAt(FIRST_OCCURRED_ON.plus(2, ChronoUnit.HOURS), 5);
+
+    // When
+    entryService.save(severe, user.id());
+    entityManager.flush();
+    entityManager.clear();
+
+    // Then
+    var rollup = dailySymptomRollupRepository.findById(day).orElseThrow();
+    assertEquals(2, rollup.entryCount());
+    assertEquals(6, rollup.upperRespiratorySum());
+    assertEquals(5, rollup.eyesMax());
+    assertEquals(30, rollup.totalSum());
+    assertEquals(20, rollup.totalMax());
+  }
+
+  @Test
+  void save_ShouldRecomputeMaximaWhenUpdateLowersThem() {
+    // Given
+    var day = new DailySymptomRollupId(user.id(), LocalDate.of(2025, 11, 1));
+    var severe = entryService.save(entryAt(FIRST_OCCURRED_ON.plus(2, ChronoUnit.HOURS), 5), user.id());
+    entityManager.flush();
+    entityManager.clear();
+    var milder = entryAt(severe.occurredOn(), 0);
+
+    // When
+    entryService.update(severe.id(), user.id(), milder);
+    entityManager.flush();
+    entityManager.clear();
+
+    // Then
+    var rollup = dailySymptomRollupRepository.findById(day).orElseThrow();
+    assertEquals(2, rollup.entryCount());
+    assertEquals(10, rollup.totalSum());
+    assertEquals(10, rollup.totalMax());
+    assertEquals(4, rollup.eyesMax());
+  }
+
+  @Test
+  void save_ShouldLeaveUndatedEntriesOutOfTheRollup() {
+    // Given
+    var undated = entryService.save(entryAt(null, 5), user.id());
+    entityManager.flush();
+    entityManager.clear();
+
+    // When
+    entryService.update(undated.id(), user.id(), entryAt(null, 3));
+    var rebuilt = dailySymptomRollupService.rebuild();
+    entryService.deleteByIdAndUserId(undated.id(), user.id());
+    entityManager.flush();
+
+    // Then
+    assertEquals(ENTRY_COUNT, rebuilt);
+    assertEquals(ENTRY_COUNT, dailySymptomRollupRepository.count());
+    assertEquals(ENTRY_COUNT, entryRepository.count());
+  }
+
+  @Test
+  void deleteByIdAndUserId_ShouldRemoveEmptyDailyRollup() {
+    // Given
+    var first = entries.getFirst();
+    var day = new DailySymptomRollupId(user.id(), LocalDate.of(2025, 11, 1));
+
+    // When
+    entryService.deleteByIdAndUserId(first.id(), user.id());
+    entityManager.flush();
+
+    // Then
+    assertTrue(dailySymptomRollupRepository.findById(day).isEmpty());
+    assertEquals(ENTRY_COUNT - 1, dailySymptomRollupRepository.count());
+  }
+
+  @Test
+  void findChangesAfter_ShouldWalkEntriesInUpdateOrder() {
+    // Given
+    var upTo = Instant.now().plus(1, ChronoUnit.MINUTES);
+    var firstPage = entryRepository.findChangesAfter(user.id(), Instant.EPOCH, new UUID(0, 0), upTo, Limit.of(15));
+    var last = firstPage.getLast();
+
+    // When
+    var secondPage = entryRepository.findChangesAfter(user.id(), last.updatedAt(), last.id(), upTo, Limit.of(15));
+
+    // Then
+    assertEquals(15, firstPage.size());
+    assertEquals(5, secondPage.size());
+    assertTrue(firstPage.stream().noneMatch(secondPage::contains));
+  }
+
+  @Test
+  void deleteByIdAndUserId_ShouldLeaveTombstone() {
+    // Given
+    var entryId = entries.getFirst().id();
+
+    // When
+    entryService.deleteByIdAndUserId(entryId, user.id());
+    entityManager.flush();
+
+    // Then
+    var tombstones = entryDeletionRepository.findChangesAfter(
+            user.id(), Instant.EPOCH, new UUID(0, 0), Instant.now().plus(1, ChronoUnit.MINUTES), Limit.of(10));
+    assertEquals(1, tombstones.size());
+    assertEquals(entryId, tombstones.getFirst().entryId());
+  }
+
+  @Test
+  void deleteByIdAndUserId_ShouldWriteTombstoneWithoutReadingItFirst() {
+    // When
+    entryService.deleteByIdAndUserId(entries.getFirst().id(), user.id());
+    entityManager.flush();
+
+    // Then
+    // Merging the tombstone instead of inserting it would add a ninth statement, a select on entry_deletions.
+    assertEquals(8, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void purge_ShouldDeleteOnlyTombstonesOlderThanTheRetention() {
+    // Given
+    var expiredId = UUID.randomUUID();
+    var retainedId = UUID.randomUUID();
+    entryDeletionRepository.save(new EntryDeletion(expiredId, user.id(), Instant.now().minus(31, ChronoUnit.DAYS)));
+    entryDeletionRepository.save(new EntryDeletion(retainedId, user.id(), Instant.now().minus(29, ChronoUnit.DAYS)));
+    entityManager.flush();
+
+    // When
+    var purged = entryDeletionRetentionService.purge();
+    entityManager.clear();
+
+    // Then
+    assertEquals(1, purged);
+    assertTrue(entryDeletionRepository.findById(expiredId).isEmpty());
+    assertTrue(entryDeletionRepository.findById(retainedId).isPresent());
+  }
+
+  @Test
+  void update_ShouldKeepCreatedAtAndBumpVersion() {
+    // Given
+    var original = entries.getFirst();
+    var changes = entryAt(original.occurredOn(), 5);
+    changes.version(original.version());
+
+    // When
+    entryService.update(original.id(), user.id(), changes);
+    entityManager.flush();
+    entityManager.clear();
+
+    // Then
+    var updated = entityManager.find(Entry.class, original.id());
+    assertEquals(original.version() + 1, updated.version());
+    assertEquals(original.createdAt().truncatedTo(ChronoUnit.MILLIS), updated.createdAt().truncatedTo(ChronoUnit.MILLIS));
+    assertEquals(5, updated.skin().value());
+  }
+
+  @Test
+  void update_ShouldRejectStaleVersion() {
+    // Given
+    var original = entries.getFirst();
+    var changes = entryAt(original.occurredOn(), 5);
+    changes.version(original.version() + 1);
+
+    // When & Then
+    assertThrows(EntryVersionConflictException.class, () -> entryService.update(original.id(), user.id(), changes));
+  }
+
+  @Test
+  void deleteByUserIdAndOccurredOnRange_ShouldDeleteInBulkWithTombstonesAndRollup() {
+    // Given
+    var from = Instant.parse("2025-11-01T00:00:00Z");
+    var to = Instant.parse("2025-11-06T00:00:00Z");
+
+    // When
+    var deleted = entryService.deleteByUserIdAndOccurredOnRange(user.id(), from, to);
+    entityManager.flush();
+    entityManager.clear();
+
+    // Then
+    assertEquals(5, deleted);
+    assertEquals(0, statistics.getEntityLoadCount());
+    assertEquals(ENTRY_COUNT - 5, entryRepository.count());
+    assertEquals(ENTRY_COUNT - 5, dailySymptomRollupRepository.count());
+    assertTrue(dailySymptomRollupRepository.findById(new DailySymptomRollupId(user.id(), LocalDate.of(2025, 11, 3))).isEmpty());
+    var tombstones = entryDeletionRepository.findChangesAfter(
+            user.id(), Instant.EPOCH, new UUID(0, 0), Instant.now().plus(1, ChronoUnit.MINUTES), Limit.of(10));
+    assertEquals(5, tombstones.size());
+    assertEquals(
+            entries.subList(0, 5).stream().map(Entry::id).collect(Collectors.toSet()),
+            tombstones.stream().map(EntryDeletion::entryId).collect(Collectors.toSet()));
+  }
+
+  @Test
+  void deleteAllByUserId_ShouldRemoveEntriesLinksTombstonesAndRollup() {
+    // Given
+    entryService.deleteByIdAndUserId(entries.getFirst().id(), user.id());
+    entityManager.flush();
+
+    // When
+    var deleted = entryService.deleteAllByUserId(user.id());
+    entityManager.flush();
+    entityManager.clear();
+
+    // Then
+    assertEquals(ENTRY_COUNT - 1, deleted);
+    assertEquals(0, entryRepository.count());
+    assertEquals(0, entryDeletionRepository.count());
+    assertEquals(0, dailySymptomRollupRepository.count());
+    var links = entityManager.getEntityManager()
+            .createNativeQuery("SELECT count(*) FROM entry_exposure_types")
+            .getSingleResult();
+    assertEquals(0L, ((Number) links).longValue());
+  }
+
+  @Test
+  void save_ShouldNotLoadTheUser() {
+    // When
+    entryService.save(entryAt(FIRST_OCCURRED_ON.plus(1, ChronoUnit.HOURS), 5), user.id());
+    entityManager.flush();
+
+    // Then
+    assertEquals(0, statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+    assertEquals(ENTRY_COUNT + 1, entryRepository.count());
+  }
+
+  @Test
+  void save_OfMappedNewEntry_ShouldPersistInsteadOfMerging() {
+    // Given
+    var dto = new EntryDto(null, null, FIRST_OCCURRED_ON, 1, 2, 3, 4, 0, List.of(), "Note", null);
+    var entry = EntryMapper.fromDto(dto, List.of());
+
+    // When
+    var saved = entryService.save(entry, user.id());
+
+    // Then
+    assertSame(entry, saved);
+    assertEquals(0L, saved.version());
+  }
+
+  @Test
+  void save_ShouldRejectUnknownUser() {
+    // Given
+    var unknownUserId = UUID.randomUUID();
+
+    // When & Then
+    assertThrows(UserNotFoundException.class,
+            () -> entryService.save(entryAt(FIRST_OCCURRED_ON, 5), unknownUserId));
+  }
+
+  @Test
+  void save_WithUnknownExposureType_ShouldNotReportUnknownUser() {
+    // Given
+    var entry = entryAt(FIRST_OCCURRED_ON, 5);
+    entry.exposureTypes().add(new ExposureType(UUID.randomUUID(), "Deleted", null));
+
+    // When & Then
+    assertThrows(DataIntegrityViolationException.class, () -> entryService.save(entry, user.id()));
+  }
+
+  private Entry entryAt(Instant occurredOn, int value) {
+    return new Entry(
+            null,
+            null,
+            occurredOn,
+            new Symptoms(value),
+            new Symptoms(value),
+            new Symptoms(value),
+            new Symptoms(value),
+            null,
+            Instant.now(),
+            Instant.now(),
+            new LinkedHashSet<>(),
+            null
+    );
+  }
+}
@@ -0,0 +1,85 @@
+package org.example.allergytracker.domain.entry.service;
+
+import org.example.allergytracker.domain.entry.model.CompactEntry;
+import org.example.allergytracker.domain.entry.model.Entry;
+import org.example.allergytracker.domain.entry.model.Note;
+import org.example.allergytracker.domain.entry.model.Symptoms;
+import org.example.allergytracker.domain.entry.repository.CompactEntryRepository;
+import org.example.allergytracker.domain.user.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompactEntryServiceTest {
+
+  @Mock
+  private CompactEntryRepository compactEntryRepository;
+
+  private CompactEntryService compactEntryService;
+  private Entry entry;
+
+  @BeforeEach
+  void setUp() {
+    compactEntryService = new CompactEntryService(compactEntryRepository, false);
+    var user = new User();
+    user.id(UUID.randomUUID());
+    entry = new Entry(
+            UUID.randomUUID(),
+            user,
+            Instant.now(),
+            new Symptoms(1),
+            new Symptoms(2),
+            new Symptoms(3),
+            new Symptoms(4),
+            new Note("Note"),
+            Instant.now(),
+            Instant.now(),
+            new LinkedHashSet<>(),
+            0L
+    );
+  }
+
+  @Test
+  void addAll_WhenStatsDoNotReadCompactEntries_ShouldStillWriteThem() {
+    // When
+    compactEntryService.addAll(List.of(entry));
+
+    // Then
+    assertFalse(compactEntryService.enabled());
+    verify(compactEntryRepository).saveAll(anyList());
+  }
+
+  @Test
+  void update_WhenStatsDoNotReadCompactEntries_ShouldStillWriteIt() {
+    // Given
+    when(compactEntryRepository.findById(entry.id())).thenReturn(Optional.empty());
+
+    // When
+    compactEntryService.update(entry);
+
+    // Then
+    verify(compactEntryRepository).save(any(CompactEntry.class));
+  }
+
+  @Test
+  void deleteById_WhenStatsDoNotReadCompactEntries_ShouldStillDeleteIt() {
+    // When
+    compactEntryService.deleteById(entry.id());
+
+    // Then
+    verify(compactEntryRepository).deleteByIdIfPresent(entry.id());
+  }
+}
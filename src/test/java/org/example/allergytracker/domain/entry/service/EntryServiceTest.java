@@ -1,21 +1,38 @@
 package org.example.allergytracker.domain.entry.service;
 
 import org.example.allergytracker.domain.entry.model.Entry;
+import org.example.allergytracker.domain.entry.model.EntryDeletion;
+import org.example.allergytracker.domain.entry.model.ExposureType;
 import org.example.allergytracker.domain.entry.model.Note;
 import org.example.allergytracker.domain.entry.model.Symptoms;
+import org.example.allergytracker.domain.entry.repository.EntryDeletionRepository;
+import org.example.allergytracker.domain.entry.repository.EntryExposureView;
 import org.example.allergytracker.domain.entry.repository.EntryRepository;
+import org.example.allergytracker.domain.entry.repository.EntryScores;
+import org.example.allergytracker.domain.entry.repository.EntryView;
+import org.example.allergytracker.domain.entry.repository.ExposureTypeRepository;
 import org.example.allergytracker.domain.user.model.User;
 import org.example.allergytracker.domain.user.repository.UserRepository;
 import org.example.allergytracker.exception.auth.UserNotFoundException;
+import org.example.allergytracker.exception.entry.EntryChangeCursorExpiredException;
 import org.example.allergytracker.exception.entry.EntryNotFoundException;
+import org.example.allergytracker.exception.entry.EntryVersionConflictException;
+import org.example.allergytracker.exception.entry.InvalidEntryCursorException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.sql.SQLException;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,6 +40,8 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,9 +50,24 @@ class EntryServiceTest {
     @Mock
     private EntryRepository entryRepository;
 
+    @Mock
+    private EntryDeletionRepository entryDeletionRepository;
+
+    @Mock
+    private ExposureTypeRepository exposureTypeRepository;
+
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private DailySymptomRollupService dailySymptomRollupService;
+
+    @Mock
+    private CompactEntryService compactEntryService;
+
+    @Mock
+    private EntryDeletionRetentionService entryDeletionRetentionService;
+
     @InjectMocks
     private EntryService entryService;
 
@@ -65,24 +99,11 @@ class EntryServiceTest {
                 new Note("Test note"),
                 Instant.now(),
                 Instant.now(),
-                List.of()
+                new LinkedHashSet<>(),
+                null
         );
     }
 
-    @Test
-    void shouldFindAllEntriesByUserId() {
-        // Given
-        when(entryRepository.findByUserId(userId)).thenReturn(List.of(testEntry));
-
-        // When
-        var result = entryService.findAllByUserId(userId);
-
-        // Then
-        assertThat(result).hasSize(1);
-        assertThat(result.getFirst().id()).isEqualTo(entryId);
-        verify(entryRepository, times(1)).findByUserId(userId);
-    }
-
     @Test
     void shouldFindEntryByIdAndUserId() {
         // Given
@@ -123,8 +144,9 @@ class EntryServiceTest {
         entryToSave.skin(new Symptoms(1));
         entryToSave.eyes(new Symptoms(4));
         entryToSave.note(new Note("Test note"));
+        entryToSave.exposureTypes(new LinkedHashSet<>());
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(userRepository.getReferenceById(userId)).thenReturn(testUser);
         when(entryRepository.save(any(Entry.class))).thenReturn(testEntry);
 
         // When
@@ -134,90 +156,420 @@ class EntryServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.id()).isEqualTo(entryId);
         assertThat(result.user()).isEqualTo(testUser);
-        verify(userRepository, times(1)).findById(userId);
+        verify(userRepository, never()).findById(any());
         verify(entryRepository, times(1)).save(entryToSave);
+        verify(entryRepository, times(1)).flush();
+        verify(dailySymptomRollupService, times(1)).add(any(EntryScores.class));
+        verify(dailySymptomRollupService, never()).remove(any());
+    }
+
+    @Test
+    void shouldUpdateEntryInPlaceAndMoveRollupDelta() {
+        // Given
+        Instant createdAt = testEntry.createdAt();
+        testEntry.version(2L);
+        Entry changes = entryAt(OCCURRED_ON.plusSeconds(86_400));
+        changes.skin(new Symptoms(5));
+        changes.version(2L);
+        when(entryRepository.findByIdAndUserId(entryId, userId)).thenReturn(Optional.of(testEntry));
+        var previous = EntryScores.of(testEntry);
+
+        // When
+        var updated = entryService.update(entryId, userId, changes);
+
+        // Then
+        assertThat(updated).isSameAs(testEntry);
+        assertThat(updated.skin().value()).isEqualTo(5);
+        assertThat(updated.occurredOn()).isEqualTo(changes.occurredOn());
+        assertThat(updated.createdAt()).isEqualTo(createdAt);
+        verify(entryRepository, never()).save(any());
+        verifyNoInteractions(userRepository);
+        var inOrder = inOrder(entryRepository, dailySymptomRollupService);
+        inOrder.verify(entryRepository).flush();
+        inOrder.verify(dailySymptomRollupService).remove(previous);
+        inOrder.verify(dailySymptomRollupService).add(EntryScores.of(updated));
+    }
+
+    @Test
+    void shouldLinkManagedReferencesInsteadOfCatalogInstances() {
+        // Given
+        var catalogCat = new ExposureType(UUID.randomUUID(), "Cat", null);
+        var managedCat = new ExposureType(catalogCat.id(), "Cat", null);
+        var entryToSave = entryAt(OCCURRED_ON);
+        entryToSave.exposureTypes(new LinkedHashSet<>(List.of(catalogCat)));
+        when(userRepository.getReferenceById(userId)).thenReturn(testUser);
+        when(exposureTypeRepository.getReferenceById(catalogCat.id())).thenReturn(managedCat);
+        when(entryRepository.save(entryToSave)).thenReturn(entryToSave);
+
+        // When
+        var result = entryService.save(entryToSave, userId);
+
+        // Then
+        assertThat(result.exposureTypes()).hasSize(1);
+        assertThat(result.exposureTypes().iterator().next()).isSameAs(managedCat);
+    }
+
+    @Test
+    void shouldRejectUpdateWithStaleVersion() {
+        // Given
+        testEntry.version(3L);
+        Entry changes = entryAt(OCCURRED_ON);
+        changes.version(2L);
+        when(entryRepository.findByIdAndUserId(entryId, userId)).thenReturn(Optional.of(testEntry));
+
+        // When & Then
+        assertThatThrownBy(() -> entryService.update(entryId, userId, changes))
+                .isInstanceOf(EntryVersionConflictException.class);
+        verify(entryRepository, never()).flush();
+        verifyNoInteractions(dailySymptomRollupService);
+    }
+
+    @Test
+    void shouldReportConcurrentUpdateDetectedOnFlushAsConflict() {
+        // Given
+        when(entryRepository.findByIdAndUserId(entryId, userId)).thenReturn(Optional.of(testEntry));
+        doThrow(new ObjectOptimisticLockingFailureException(Entry.class, entryId)).when(entryRepository).flush();
+
+        // When & Then
+        assertThatThrownBy(() -> entryService.update(entryId, userId, entryAt(OCCURRED_ON)))
+                .isInstanceOf(EntryVersionConflictException.class);
+        verifyNoInteractions(dailySymptomRollupService);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenUpdatingNonExistentEntry() {
+        // Given
+        when(entryRepository.findByIdAndUserId(entryId, userId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> entryService.update(entryId, userId, entryAt(OCCURRED_ON)))
+                .isInstanceOf(EntryNotFoundException.class);
     }
 
     @Test
     void shouldThrowExceptionWhenSavingEntryWithNonExistentUser() {
         // Given
-        Entry entryToSave = new Entry();
+        Entry entryToSave = entryAt(OCCURRED_ON);
         UUID nonExistentUserId = UUID.randomUUID();
-        when(userRepository.findById(nonExistentUserId)).thenReturn(Optional.empty());
+        when(userRepository.getReferenceById(nonExistentUserId)).thenReturn(new User());
+        when(entryRepository.save(entryToSave)).thenReturn(entryToSave);
+        doThrow(integrityViolation(EntryService.USER_FOREIGN_KEY)).when(entryRepository).flush();
 
         // When & Then
         assertThatThrownBy(() -> entryService.save(entryToSave, nonExistentUserId))
                 .isInstanceOf(UserNotFoundException.class);
 
-        verify(userRepository, times(1)).findById(nonExistentUserId);
-        verify(entryRepository, never()).save(any());
+        verify(userRepository, never()).findById(any());
+        verifyNoInteractions(dailySymptomRollupService);
     }
 
     @Test
-    void shouldDeleteEntryByIdAndUserId() {
+    void shouldPassOnOtherIntegrityViolationsWhenSaving() {
         // Given
-        when(entryRepository.findByIdAndUserId(entryId, userId)).thenReturn(Optional.of(testEntry));
-        doNothing().when(entryRepository).deleteByIdAndUserId(entryId, userId);
+        Entry entryToSave = entryAt(OCCURRED_ON);
+        var violation = integrityViolation("fk_entry_exposure_types_exposure_type");
+        when(userRepository.getReferenceById(userId)).thenReturn(testUser);
+        when(entryRepository.save(entryToSave)).thenReturn(entryToSave);
+        doThrow(violation).when(entryRepository).flush();
+
+        // When & Then
+        assertThatThrownBy(() -> entryService.save(entryToSave, userId)).isSameAs(violation);
+        verifyNoInteractions(dailySymptomRollupService);
+    }
+
+    @Test
+    void shouldSaveAllEntriesWithoutLoadingUser() {
+        // Given
+        List<Entry> entries = List.of(entryAt(OCCURRED_ON), entryAt(OCCURRED_ON.plusSeconds(60)));
+        when(userRepository.getReferenceById(userId)).thenReturn(testUser);
+        when(entryRepository.saveAll(entries)).thenReturn(entries);
+
+        // When
+        var result = entryService.saveAll(entries, userId);
+
+        // Then
+        assertThat(result).hasSize(2);
+        assertThat(result).allMatch(entry -> entry.user() == testUser);
+        verify(userRepository, never()).findById(any());
+        verify(entryRepository, times(1)).saveAll(entries);
+        verify(dailySymptomRollupService, times(1)).addAll(argThat(scores -> scores.size() == 2));
+    }
+
+    @Test
+    void shouldDeleteEntryByIdAndUserIdWithoutLoadingIt() {
+        // Given
+        var scores = EntryScores.of(testEntry);
+        when(entryRepository.findScoresByIdAndUserId(entryId, userId)).thenReturn(Optional.of(scores));
+        when(entryRepository.deleteByIdAndUserId(entryId, userId)).thenReturn(1);
 
         // When
         entryService.deleteByIdAndUserId(entryId, userId);
 
         // Then
-        verify(entryRepository, times(1)).findByIdAndUserId(entryId, userId);
+        verify(entryRepository, never()).findByIdAndUserId(any(), any());
+        verify(entryRepository, times(1)).deleteExposureLinksByEntryId(entryId);
         verify(entryRepository, times(1)).deleteByIdAndUserId(entryId, userId);
+        verify(entryDeletionRepository, times(1)).insert(eq(entryId), eq(userId), any());
+        verify(entryDeletionRepository, never()).save(any());
+        verify(dailySymptomRollupService, times(1)).remove(scores);
     }
 
     @Test
     void shouldThrowExceptionWhenDeletingNonExistentEntry() {
         // Given
         UUID nonExistentId = UUID.randomUUID();
-        when(entryRepository.findByIdAndUserId(nonExistentId, userId)).thenReturn(Optional.empty());
+        when(entryRepository.findScoresByIdAndUserId(nonExistentId, userId)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> entryService.deleteByIdAndUserId(nonExistentId, userId))
                 .isInstanceOf(EntryNotFoundException.class);
 
-        verify(entryRepository, times(1)).findByIdAndUserId(nonExistentId, userId);
         verify(entryRepository, never()).deleteByIdAndUserId(any(), any());
+        verifyNoInteractions(entryDeletionRepository, dailySymptomRollupService);
     }
 
     @Test
-    void shouldReturnEmptyListWhenNoEntriesForUser() {
+    void shouldDeleteRangeWithTombstonesAndRecomputeRollup() {
         // Given
-        when(entryRepository.findByUserId(userId)).thenReturn(List.of());
+        Instant from = Instant.parse("2025-11-01T00:00:00Z");
+        Instant to = Instant.parse("2025-12-01T00:00:00Z");
+        when(entryRepository.deleteByUserIdAndOccurredOnRange(userId, from, to)).thenReturn(7);
 
         // When
-        var result = entryService.findAllByUserId(userId);
+        var deleted = entryService.deleteByUserIdAndOccurredOnRange(userId, from, to);
 
         // Then
-        assertThat(result).isEmpty();
-        verify(entryRepository, times(1)).findByUserId(userId);
+        assertThat(deleted).isEqualTo(7);
+        var inOrder = inOrder(entryDeletionRepository, entryRepository, dailySymptomRollupService);
+        inOrder.verify(entryDeletionRepository).insertForOccurredOnRange(eq(userId), eq(from), eq(to), any());
+        inOrder.verify(entryRepository).deleteExposureLinksByUserIdAndOccurredOnRange(userId, from, to);
+        inOrder.verify(entryRepository).deleteByUserIdAndOccurredOnRange(userId, from, to);
+        inOrder.verify(dailySymptomRollupService).recompute(userId, from, to);
+    }
+
+    @Test
+    void shouldSkipRollupWhenRangeWasEmpty() {
+        // Given
+        Instant from = Instant.parse("2025-11-01T00:00:00Z");
+        Instant to = Instant.parse("2025-12-01T00:00:00Z");
+        when(entryRepository.deleteByUserIdAndOccurredOnRange(userId, from, to)).thenReturn(0);
+
+        // When
+        var deleted = entryService.deleteByUserIdAndOccurredOnRange(userId, from, to);
+
+        // Then
+        assertThat(deleted).isZero();
+        verifyNoInteractions(dailySymptomRollupService);
+    }
+
+    @Test
+    void shouldDeleteAllEntriesOfUserWithBulkStatements() {
+        // Given
+        when(entryRepository.deleteAllByUserId(userId)).thenReturn(3);
+
+        // When
+        var deleted = entryService.deleteAllByUserId(userId);
+
+        // Then
+        assertThat(deleted).isEqualTo(3);
+        var inOrder = inOrder(entryRepository);
+        inOrder.verify(entryRepository).deleteExposureLinksByUserId(userId);
+        inOrder.verify(entryRepository).deleteAllByUserId(userId);
+        verify(entryDeletionRepository).deleteAllByUserId(userId);
+        verify(dailySymptomRollupService).deleteAllByUserId(userId);
+    }
+
+    @Test
+    void shouldReturnEmptyPageWhenNoEntriesForUser() {
+        // Given
+        when(entryRepository.findFirstPage(eq(userId), any(), any(), any())).thenReturn(List.of());
+
+        // When
+        var result = entryService.findPageByUserId(userId, null, null, null, 100);
+
+        // Then
+        assertThat(result.entries()).isEmpty();
+        assertThat(result.nextCursor()).isEmpty();
+        verify(entryRepository, never()).findExposureViews(any());
+    }
+
+    @Test
+    void shouldReturnPageWithoutCursorWhenNoMoreEntries() {
+        // Given
+        EntryView view = viewAt(OCCURRED_ON);
+        when(entryRepository.findFirstPage(eq(userId), any(), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(view));
+        when(entryRepository.findExposureViews(List.of(view.id())))
+                .thenReturn(List.of(new EntryExposureView(view.id(), "Cat"), new EntryExposureView(view.id(), "Dust")));
+
+        // When
+        var result = entryService.findPageByUserId(userId, null, null, null, 2);
+
+        // Then
+        assertThat(result.entries()).containsExactly(view.withExposures(List.of("Cat", "Dust")));
+        assertThat(result.nextCursor()).isEmpty();
+    }
+
+    @Test
+    void shouldReturnCursorOfLastEntryWhenMoreEntriesExist() {
+        // Given
+        EntryView newest = viewAt(OCCURRED_ON);
+        EntryView older = viewAt(Instant.parse("2025-11-03T10:00:00Z"));
+        EntryView oldest = viewAt(Instant.parse("2025-11-02T10:00:00Z"));
+        when(entryRepository.findFirstPage(eq(userId), any(), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(newest, older, oldest));
+
+        // When
+        var result = entryService.findPageByUserId(userId, null, null, null, 2);
+
+        // Then
+        assertThat(result.entries()).containsExactly(newest, older);
+        assertThat(result.nextCursor()).contains(new EntryCursor(older.occurredOn(), older.id()));
+        verify(entryRepository).findExposureViews(List.of(newest.id(), older.id()));
     }
 
     @Test
-    void shouldFindMultipleEntriesForUser() {
+    void shouldContinueAfterCursorWithinDateRange() {
         // Given
-        Entry entry2 = new Entry(
+        Instant from = Instant.parse("2025-11-01T00:00:00Z");
+        Instant to = Instant.parse("2025-12-01T00:00:00Z");
+        EntryCursor cursor = new EntryCursor(OCCURRED_ON, entryId);
+        when(entryRepository.findPageAfter(userId, from, to, OCCURRED_ON, entryId, Limit.of(11)))
+                .thenReturn(List.of());
+
+        // When
+        var result = entryService.findPageByUserId(userId, from, to, cursor, 10);
+
+        // Then
+        assertThat(result.entries()).isEmpty();
+        verify(entryRepository, never()).findFirstPage(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldCapPageSize() {
+        // Given
+        when(entryRepository.findFirstPage(eq(userId), any(), any(), any())).thenReturn(List.of());
+
+        // When
+        entryService.findPageByUserId(userId, null, null, null, 100_000);
+
+        // Then
+        verify(entryRepository).findFirstPage(eq(userId), any(), any(), eq(Limit.of(EntryService.MAX_PAGE_SIZE + 1)));
+    }
+
+    @Test
+    void shouldRoundTripEncodedCursor() {
+        // Given
+        EntryCursor cursor = new EntryCursor(OCCURRED_ON, entryId);
+
+        // When
+        var decoded = EntryCursor.decode(cursor.encode());
+
+        // Then
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> EntryCursor.decode("not-a-cursor"))
+                .isInstanceOf(InvalidEntryCursorException.class);
+    }
+
+    @Test
+    void shouldMergeChangedAndDeletedEntriesInChangeOrder() {
+        // Given
+        var changedAt = Instant.parse("2025-11-05T10:00:00Z");
+        var first = entryAt(OCCURRED_ON);
+        first.updatedAt(changedAt);
+        var third = entryAt(OCCURRED_ON);
+        third.updatedAt(changedAt.plusSeconds(2));
+        var deletedId = UUID.randomUUID();
+        var deletion = new EntryDeletion(deletedId, userId, changedAt.plusSeconds(1));
+        when(entryRepository.findChangesAfter(eq(userId), eq(Instant.EPOCH), any(), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(first, third));
+        when(entryDeletionRepository.findChangesAfter(eq(userId), eq(Instant.EPOCH), any(), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(deletion));
+
+        // When
+        var changes = entryService.findChangesByUserId(userId, null, 2);
+
+        // Then
+        assertThat(changes.changed()).containsExactly(first);
+        assertThat(changes.deleted()).containsExactly(deletedId);
+        assertThat(changes.cursor()).isEqualTo(new EntryChangeCursor(changedAt.plusSeconds(1), deletedId));
+        assertThat(changes.hasMore()).isTrue();
+        verify(entryRepository).fetchExposureTypes(List.of(first));
+    }
+
+    @Test
+    void shouldMoveCursorUpToSettledChangesWhenNothingChanged() {
+        // Given
+        var since = new EntryChangeCursor(Instant.now().minus(1, ChronoUnit.DAYS), UUID.randomUUID());
+        when(entryRepository.findChangesAfter(eq(userId), eq(since.changedAt()), eq(since.id()), any(), any()))
+                .thenReturn(List.of());
+        when(entryDeletionRepository.findChangesAfter(eq(userId), eq(since.changedAt()), eq(since.id()), any(), any()))
+                .thenReturn(List.of());
+
+        // When
+        var changes = entryService.findChangesByUserId(userId, since, 100);
+
+        // Then
+        assertThat(changes.changed()).isEmpty();
+        assertThat(changes.deleted()).isEmpty();
+        assertThat(changes.cursor().changedAt()).isAfter(since.changedAt())
+                .isBefore(Instant.now().minus(EntryService.CHANGES_SETTLE_TIME).plusSeconds(1));
+        assertThat(changes.cursor().id()).isEqualTo(EntryChangeCursor.LAST_ID);
+        assertThat(changes.hasMore()).isFalse();
+        verify(entryRepository, never()).fetchExposureTypes(any());
+    }
+
+    @Test
+    void shouldRejectChangeCursorOlderThanDeletionRetention() {
+        // Given
+        var since = new EntryChangeCursor(Instant.parse("2025-11-05T10:00:00Z"), UUID.randomUUID());
+        when(entryDeletionRetentionService.isExpired(since)).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> entryService.findChangesByUserId(userId, since, 100))
+                .isInstanceOf(EntryChangeCursorExpiredException.class);
+        verifyNoInteractions(entryDeletionRepository);
+    }
+
+    @Test
+    void shouldRoundTripChangeCursor() {
+        // Given
+        var cursor = new EntryChangeCursor(Instant.parse("2025-11-05T10:00:00.123456Z"), UUID.randomUUID());
+
+        // When
+        var decoded = EntryChangeCursor.decode(cursor.encode());
+
+        // Then
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    private EntryView viewAt(Instant occurredOn) {
+        return new EntryView(UUID.randomUUID(), userId, occurredOn, 1, 1, 1, 1, null, 0L);
+    }
+
+    private Entry entryAt(Instant occurredOn) {
+        return new Entry(
                 UUID.randomUUID(),
                 testUser,
-                Instant.parse("2025-11-05T12:00:00Z"),
+                occurredOn,
                 new Symptoms(1),
                 new Symptoms(1),
                 new Symptoms(1),
                 new Symptoms(1),
-                new Note("Another note"),
+                null,
                 Instant.now(),
                 Instant.now(),
-                List.of()
+                new LinkedHashSet<>(),
+                null
         );
-        when(entryRepository.findByUserId(userId)).thenReturn(List.of(testEntry, entry2));
-
-        // When
-        var result = entryService.findAllByUserId(userId);
+    }
 
-        // Then
-        assertThat(result).hasSize(2);
-        assertThat(result).containsExactly(testEntry, entry2);
-        verify(entryRepository, times(1)).findByUserId(userId);
+    private static DataIntegrityViolationException integrityViolation(String constraintName) {
+        return new DataIntegrityViolationException(constraintName,
+                new ConstraintViolationException(constraintName, new SQLException(), constraintName));
     }
 }
@@ -10,7 +10,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -49,10 +49,26 @@ class ExposureTypeServiceTest {
         verify(exposureTypeRepository, times(1)).findAll();
     }
 
+    @Test
+    void shouldLoadCatalogOnlyOnce() {
+        // Given
+        when(exposureTypeRepository.findAll()).thenReturn(List.of(catExposure));
+
+        // When
+        exposureTypeService.findAll();
+        exposureTypeService.findByValue("Cat");
+        exposureTypeService.findById(exposureId);
+        exposureTypeService.findAllByValues(Set.of("Cat"));
+
+        // Then
+        verify(exposureTypeRepository, times(1)).findAll();
+        verifyNoMoreInteractions(exposureTypeRepository);
+    }
+
     @Test
     void shouldFindExposureTypeById() {
         // Given
-        when(exposureTypeRepository.findById(exposureId)).thenReturn(Optional.of(catExposure));
+        when(exposureTypeRepository.findAll()).thenReturn(List.of(catExposure));
 
         // When
         var result = exposureTypeService.findById(exposureId);
@@ -60,13 +76,13 @@ class ExposureTypeServiceTest {
         // Then
         assertThat(result).isPresent();
         assertThat(result.get().id()).isEqualTo(exposureId);
-        verify(exposureTypeRepository, times(1)).findById(exposureId);
+        verify(exposureTypeRepository, never()).findById(any());
     }
 
     @Test
     void shouldFindExposureTypeByValue() {
         // Given
-        when(exposureTypeRepository.findByValue("Cat")).thenReturn(Optional.of(catExposure));
+        when(exposureTypeRepository.findAll()).thenReturn(List.of(catExposure));
 
         // When
         var result = exposureTypeService.findByValue("Cat");
@@ -74,72 +90,139 @@ class ExposureTypeServiceTest {
         // Then
         assertThat(result).isPresent();
         assertThat(result.get().value()).isEqualTo("Cat");
-        verify(exposureTypeRepository, times(1)).findByValue("Cat");
+        verify(exposureTypeRepository, never()).findByValue(any());
     }
 
     @Test
     void shouldReturnEmptyWhenExposureTypeNotFoundByValue() {
         // Given
-        when(exposureTypeRepository.findByValue("NonExistent")).thenReturn(Optional.empty());
+        when(exposureTypeRepository.findAll()).thenReturn(List.of(catExposure));
 
         // When
         var result = exposureTypeService.findByValue("NonExistent");
 
         // Then
         assertThat(result).isEmpty();
-        verify(exposureTypeRepository, times(1)).findByValue("NonExistent");
     }
 
     @Test
-    void shouldSaveExposureType() {
+    void shouldSaveExposureTypeAndPublishNewCatalogVersion() {
         // Given
-        when(exposureTypeRepository.save(any(ExposureType.class))).thenReturn(catExposure);
+        var dogExposure = new ExposureType(UUID.randomUUID(), "Dog", "Dog allergen");
+        when(exposureTypeRepository.findAll())
+                .thenReturn(List.of(catExposure))
+                .thenReturn(List.of(catExposure, dogExposure));
+        when(exposureTypeRepository.save(any(ExposureType.class))).thenReturn(dogExposure);
+        var versionBefore = exposureTypeService.catalog().version();
 
         // When
-        var result = exposureTypeService.save(catExposure);
+        var result = exposureTypeService.save(dogExposure);
 
         // Then
-        assertThat(result).isNotNull();
-        assertThat(result.value()).isEqualTo("Cat");
-        verify(exposureTypeRepository, times(1)).save(catExposure);
+        assertThat(result.value()).isEqualTo("Dog");
+        assertThat(exposureTypeService.catalog().version()).isNotEqualTo(versionBefore);
+        assertThat(exposureTypeService.findByValue("Dog")).contains(dogExposure);
+        verify(exposureTypeRepository, times(1)).save(dogExposure);
     }
 
     @Test
-    void shouldDeleteExposureType() {
+    void shouldDeleteExposureTypeAndPublishNewCatalogVersion() {
         // Given
+        when(exposureTypeRepository.findAll())
+                .thenReturn(List.of(catExposure))
+                .thenReturn(List.of());
         doNothing().when(exposureTypeRepository).deleteById(exposureId);
+        var versionBefore = exposureTypeService.catalog().version();
 
         // When
         exposureTypeService.deleteById(exposureId);
 
         // Then
         verify(exposureTypeRepository, times(1)).deleteById(exposureId);
+        assertThat(exposureTypeService.catalog().version()).isNotEqualTo(versionBefore);
+        assertThat(exposureTypeService.existsById(exposureId)).isFalse();
+    }
+
+    @Test
+    void shouldDeriveCatalogVersionFromContent() {
+        // Given
+        var sameCat = new ExposureType(exposureId, "Cat", "Cat allergen");
+        var renamedCat = new ExposureType(exposureId, "Cats", "Cat allergen");
+
+        // When
+        var version = ExposureTypeCatalog.of(List.of(catExposure)).version();
+
+        // Then
+        assertThat(ExposureTypeCatalog.of(List.of(sameCat)).version()).isEqualTo(version);
+        assertThat(ExposureTypeCatalog.of(List.of(renamedCat)).version()).isNotEqualTo(version);
+    }
+
+    @Test
+    void shouldPickUpChangesMadeElsewhereOnRefresh() {
+        // Given
+        var renamedCat = new ExposureType(exposureId, "Cats", "Cat allergen");
+        when(exposureTypeRepository.findAll())
+                .thenReturn(List.of(catExposure))
+                .thenReturn(List.of(catExposure))
+                .thenReturn(List.of(renamedCat));
+        var before = exposureTypeService.catalog();
+
+        // When
+        exposureTypeService.refresh();
+        var unchanged = exposureTypeService.catalog();
+        exposureTypeService.refresh();
+
+        // Then
+        assertThat(unchanged).isSameAs(before);
+        assertThat(exposureTypeService.catalog().version()).isNotEqualTo(before.version());
+        assertThat(exposureTypeService.findByValue("Cats")).isPresent();
+        assertThat(exposureTypeService.findByValue("Cat")).isEmpty();
+    }
+
+    @Test
+    void shouldNotLoadCatalogOnRefreshBeforeFirstUse() {
+        // When
+        exposureTypeService.refresh();
+
+        // Then
+        verifyNoInteractions(exposureTypeRepository);
     }
 
     @Test
     void shouldCheckIfExposureTypeExists() {
         // Given
-        when(exposureTypeRepository.existsById(exposureId)).thenReturn(true);
+        when(exposureTypeRepository.findAll()).thenReturn(List.of(catExposure));
 
         // When
         var result = exposureTypeService.existsById(exposureId);
 
         // Then
         assertThat(result).isTrue();
-        verify(exposureTypeRepository, times(1)).existsById(exposureId);
+        verify(exposureTypeRepository, never()).existsById(any());
     }
 
     @Test
     void shouldReturnFalseWhenExposureTypeDoesNotExist() {
         // Given
         UUID nonExistentId = UUID.randomUUID();
-        when(exposureTypeRepository.existsById(nonExistentId)).thenReturn(false);
+        when(exposureTypeRepository.findAll()).thenReturn(List.of(catExposure));
 
         // When
         var result = exposureTypeService.existsById(nonExistentId);
 
         // Then
         assertThat(result).isFalse();
-        verify(exposureTypeRepository, times(1)).existsById(nonExistentId);
+    }
+
+    @Test
+    void shouldFindAllExposureTypesByValuesSkippingUnknownOnes() {
+        // Given
+        when(exposureTypeRepository.findAll()).thenReturn(List.of(catExposure));
+
+        // When
+        var result = exposureTypeService.findAllByValues(Set.of("Cat", "Dog"));
+
+        // Then
+        assertThat(result).containsExactly(catExposure);
     }
 }
@@ -0,0 +1,48 @@
+package org.example.allergytracker.domain.entry.service;
+
+import org.example.allergytracker.exception.entry.InvalidStatsRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymptomStatsServiceTest {
+
+  @Test
+  void parseZone_ShouldAcceptRegionId() {
+    // When
+    var zone = SymptomStatsService.parseZone("Europe/Warsaw");
+
+    // Then
+    assertEquals(ZoneId.of("Europe/Warsaw"), zone);
+  }
+
+  @Test
+  void parseZone_ShouldNormalizeUtcOffset() {
+    // When
+    var zone = SymptomStatsService.parseZone("Z");
+
+    // Then
+    assertEquals("UTC", zone.getId());
+  }
+
+  @Test
+  void parseZone_ShouldRejectNumericOffset() {
+    // When & Then
+    assertThrows(InvalidStatsRequestException.class, () -> SymptomStatsService.parseZone("+02:00"));
+  }
+
+  @Test
+  void parseZone_ShouldRejectUnknownZone() {
+    // When & Then
+    assertThrows(InvalidStatsRequestException.class, () -> SymptomStatsService.parseZone("Mars/Olympus"));
+  }
+
+  @Test
+  void fromUnit_ShouldRejectUnsupportedGranularity() {
+    // When & Then
+    assertEquals(StatsGranularity.WEEK, StatsGranularity.fromUnit("WEEK"));
+    assertThrows(InvalidStatsRequestException.class, () -> StatsGranularity.fromUnit("year"));
+  }
+}
@@ -0,0 +1,83 @@
+package org.example.allergytracker.domain.entry.validator;
+
+import org.example.allergytracker.domain.entry.controller.EntryDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DefaultEntryValidatorTest {
+
+  private static final Instant OCCURRED_ON = Instant.parse("2025-11-04T10:15:30Z");
+
+  private DefaultEntryValidator entryValidator;
+
+  @BeforeEach
+  void setUp() {
+    entryValidator = new DefaultEntryValidator();
+  }
+
+  @Test
+  void validate_WithValidEntry_ShouldReturnNoErrors() {
+    // Given
+    var entry = entry(OCCURRED_ON, 0, 5, 2, 3);
+
+    // When
+    var errors = entryValidator.validate(entry);
+
+    // Then
+    assertTrue(errors.isEmpty());
+  }
+
+  @Test
+  void validate_WithoutOccurredOn_ShouldReturnError() {
+    // Given
+    var entry = entry(null, 1, 1, 1, 1);
+
+    // When
+    var errors = entryValidator.validate(entry);
+
+    // Then
+    assertEquals(List.of("occurredOn is required"), errors);
+  }
+
+  @Test
+  void validate_WithSymptomsOutOfRange_ShouldReturnErrorPerSymptom() {
+    // Given
+    var entry = entry(OCCURRED_ON, -1, 6, 1, 1);
+
+    // When
+    var errors = entryValidator.validate(entry);
+
+    // Then
+    assertEquals(List.of(
+            "upperRespiratory must be between 0 and 5",
+            "lowerRespiratory must be between 0 and 5"
+    ), errors);
+  }
+
+  @Test
+  void validate_WithNullExposureName_ShouldReturnError() {
+    // Given
+    var entry = entry(OCCURRED_ON, 1, 1, 1, 1, Arrays.asList("Cat", null));
+
+    // When
+    var errors = entryValidator.validate(entry);
+
+    // Then
+    assertEquals(List.of("exposures must not contain null"), errors);
+  }
+
+  private static EntryDto entry(Instant occurredOn, int upperRespiratory, int lowerRespiratory, int skin, int eyes) {
+    return entry(occurredOn, upperRespiratory, lowerRespiratory, skin, eyes, List.of());
+  }
+
+  private static EntryDto entry(Instant occurredOn, int upperRespiratory, int lowerRespiratory, int skin, int eyes,
+                                List<String> exposures) {
+    return new EntryDto(null, null, occurredOn, upperRespiratory, lowerRespiratory, skin, eyes, 0, exposures, null, null);
+  }
+}
@@ -0,0 +1,81 @@
+package org.example.allergytracker.domain.user.controller;
+
+import org.example.allergytracker.domain.auth.service.AuthService;
+import org.example.allergytracker.domain.user.service.UserService;
+import org.example.allergytracker.security.jwt.VerifiedToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class UserControllerTest {
+
+  private static final UUID USER_ID = UUID.randomUUID();
+  private static final String EMAIL = "test@example.com";
+
+  private UserService userService;
+  private UserController userController;
+
+  @BeforeEach
+  void setUp() {
+    userService = mock(UserService.class);
+    userController = new UserController(userService, mock(AuthService.class));
+
+    var token = new VerifiedToken(USER_ID, EMAIL, null, null, Instant.now().plusSeconds(60));
+    var authentication = new UsernamePasswordAuthenticationToken(USER_ID, null, List.of());
+    authentication.setDetails(token);
+    SecurityContextHolder.getContext().setAuthentication(authentication);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void getCurrentUser_ShouldAnswerFromTokenClaims() {
+    // Given
+    var request = new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
+
+    // When
+    var response = userController.getCurrentUser(request);
+
+    // Then
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(USER_ID, response.getBody().user().id());
+    assertEquals(EMAIL, response.getBody().user().email());
+    assertNotNull(response.getHeaders().getETag());
+    verifyNoInteractions(userService);
+  }
+
+  @Test
+  void getCurrentUser_WithMatchingETag_ShouldReturnNotModified() {
+    // Given
+    var eTag = userController.getCurrentUser(
+            new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse())).getHeaders().getETag();
+    var servletRequest = new MockHttpServletRequest("GET", "/me");
+    servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+    var servletResponse = new MockHttpServletResponse();
+
+    // When
+    var response = userController.getCurrentUser(new ServletWebRequest(servletRequest, servletResponse));
+
+    // Then
+    assertNull(response);
+    assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+  }
+}
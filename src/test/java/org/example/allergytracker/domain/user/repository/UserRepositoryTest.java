@@ -3,6 +3,7 @@ package org.example.allergytracker.domain.user.repository;
 import org.example.allergytracker.domain.user.model.User;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
@@ -10,9 +11,16 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:users;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,DAY",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.example.allergytracker.H2OnConflictStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class UserRepositoryTest {
 
+  private static final String EMAIL = "test@example.com";
+
   @Autowired
   private TestEntityManager entityManager;
 
@@ -132,4 +140,32 @@ class UserRepositoryTest {
     // Then
     assertTrue(result.isEmpty());
   }
-}
\ No newline at end of file
+
+  @Test
+  void insertIfAbsent_ShouldCreateUserInOneStatement() {
+    // Given
+    var id = UUID.randomUUID();
+
+    // When
+    var inserted = userRepository.insertIfAbsent(id, EMAIL, "encodedPassword");
+
+    // Then
+    assertEquals(1, inserted);
+    assertEquals(id, userRepository.findByEmail(EMAIL).orElseThrow().id());
+  }
+
+  @Test
+  void insertIfAbsent_WithTakenEmail_ShouldInsertNothing() {
+    // Given
+    var existingId = UUID.randomUUID();
+    userRepository.insertIfAbsent(existingId, EMAIL, "encodedPassword");
+
+    // When
+    var inserted = userRepository.insertIfAbsent(UUID.randomUUID(), EMAIL, "otherPassword");
+
+    // Then
+    assertEquals(0, inserted);
+    assertEquals(1, userRepository.count());
+    assertEquals(existingId, userRepository.findByEmail(EMAIL).orElseThrow().id());
+  }
+}
@@ -0,0 +1,55 @@
+package org.example.allergytracker.domain.user.service;
+
+import org.example.allergytracker.domain.entry.service.EntryService;
+import org.example.allergytracker.domain.user.repository.UserRepository;
+import org.example.allergytracker.exception.auth.UserNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+  @Mock
+  private UserRepository userRepository;
+
+  @Mock
+  private EntryService entryService;
+
+  @InjectMocks
+  private UserService userService;
+
+  private final UUID userId = UUID.randomUUID();
+
+  @Test
+  void deleteAccount_ShouldDeleteEntriesBeforeUser() {
+    // Given
+    when(userRepository.deleteUserById(userId)).thenReturn(1);
+
+    // When
+    userService.deleteAccount(userId);
+
+    // Then
+    var inOrder = inOrder(entryService, userRepository);
+    inOrder.verify(entryService).deleteAllByUserId(userId);
+    inOrder.verify(userRepository).deleteUserById(userId);
+    verify(userRepository, never()).findById(any());
+  }
+
+  @Test
+  void deleteAccount_WhenUserDoesNotExist_ShouldThrow() {
+    // Given
+    when(userRepository.deleteUserById(userId)).thenReturn(0);
+
+    // When & Then
+    assertThatThrownBy(() -> userService.deleteAccount(userId))
+            .isInstanceOf(UserNotFoundException.class);
+  }
+}
@@ -0,0 +1,98 @@
+package org.example.allergytracker.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+  private static final long NOW_MILLIS = 1_760_000_000_000L;
+
+  @Test
+  void generateId_ShouldProduceVersion7WithIetfVariant() {
+    // Given
+    var generator = new UuidV7Generator(() -> NOW_MILLIS);
+
+    // When
+    var id = generator.generateId();
+
+    // Then
+    assertEquals(7, id.version());
+    assertEquals(2, id.variant());
+    assertEquals(NOW_MILLIS, id.getMostSignificantBits() >>> 16);
+  }
+
+  @Test
+  void generateId_WithinOneMillisecond_ShouldStayOrdered() {
+    // Given
+    var generator = new UuidV7Generator(() -> NOW_MILLIS);
+
+    // When
+    var ids = new ArrayList<UUID>();
+    for (int i = 0; i < 10_000; i++) {
+      ids.add(generator.generateId());
+    }
+
+    // Then
+    assertStrictlyAscending(ids);
+  }
+
+  @Test
+  void generateId_WhenClockStepsBack_ShouldStayOrdered() {
+    // Given
+    var clock = new AtomicLong(NOW_MILLIS);
+    var generator = new UuidV7Generator(clock::get);
+    var first = generator.generateId();
+
+    // When
+    clock.set(NOW_MILLIS - 1_000);
+    var second = generator.generateId();
+
+    // Then
+    assertTrue(compareUnsigned(first, second) < 0);
+  }
+
+  @Test
+  void generateId_FromManyThreads_ShouldBeUnique() throws Exception {
+    // Given
+    var generator = new UuidV7Generator();
+    var ids = ConcurrentHashMap.<UUID>newKeySet();
+    var threads = 8;
+    var perThread = 20_000;
+
+    // When
+    try (var executor = Executors.newFixedThreadPool(threads)) {
+      for (int t = 0; t < threads; t++) {
+        executor.submit(() -> {
+          for (int i = 0; i < perThread; i++) {
+            ids.add(generator.generateId());
+          }
+        });
+      }
+    }
+
+    // Then
+    assertEquals(threads * perThread, ids.size());
+  }
+
+  private static void assertStrictlyAscending(List<UUID> ids) {
+    var sorted = new ArrayList<>(ids);
+    Collections.sort(sorted, UuidV7GeneratorTest::compareUnsigned);
+    assertEquals(ids, sorted);
+    assertEquals(ids.size(), ids.stream().distinct().count());
+  }
+
+  // UUID.compareTo compares signed longs, while databases order uuid values bytewise.
+  private static int compareUnsigned(UUID left, UUID right) {
+    var most = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+    return most != 0 ? most : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+  }
+}
@@ -0,0 +1,94 @@
+package org.example.allergytracker.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.allergytracker.exception.auth.PasswordHashingUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+  private static final String PASSWORD = "password123";
+  private static final Duration RETRY_AFTER = Duration.ofSeconds(3);
+
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final CountDownLatch started = new CountDownLatch(1);
+  private SimpleMeterRegistry meterRegistry;
+  private BoundedPasswordEncoder encoder;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    encoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(), 1, 1, RETRY_AFTER, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    encoder.close();
+  }
+
+  @Test
+  void encode_ShouldDelegateAndRecordHashTime() {
+    // Given
+    release.countDown();
+
+    // When
+    var encoded = encoder.encode(PASSWORD);
+
+    // Then
+    assertEquals("hashed:" + PASSWORD, encoded);
+    assertTrue(encoder.matches(PASSWORD, encoded));
+    assertEquals(1, meterRegistry.get("auth.password.hashing.duration").tag("operation", "encode").timer().count());
+    assertEquals(1, meterRegistry.get("auth.password.hashing.duration").tag("operation", "matches").timer().count());
+    assertEquals(2, meterRegistry.get("auth.password.hashing.wait").timer().count());
+  }
+
+  @Test
+  void encode_WhenPoolAndQueueAreFull_ShouldRejectImmediately() throws Exception {
+    // Given
+    var running = CompletableFuture.supplyAsync(() -> encoder.encode(PASSWORD));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    var queued = CompletableFuture.supplyAsync(() -> encoder.encode(PASSWORD));
+    while (meterRegistry.get("auth.password.hashing.queue.size").gauge().value() < 1) {
+      Thread.onSpinWait();
+    }
+
+    // When
+    var exception = assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode(PASSWORD));
+
+    // Then
+    assertEquals(RETRY_AFTER, exception.getRetryAfter());
+    assertEquals(1, meterRegistry.get("auth.password.hashing.rejected").counter().count());
+    release.countDown();
+    assertEquals("hashed:" + PASSWORD, running.get(5, TimeUnit.SECONDS));
+    assertEquals("hashed:" + PASSWORD, queued.get(5, TimeUnit.SECONDS));
+  }
+
+  private class BlockingPasswordEncoder implements PasswordEncoder {
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return "hashed:" + rawPassword;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+      return encode(rawPassword).equals(encodedPassword);
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package org.example.allergytracker.security;
+
+import org.example.allergytracker.security.jwt.JwtExtractor;
+import org.example.allergytracker.security.jwt.VerifiedToken;
+import org.example.allergytracker.security.jwt.VerifiedTokenCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+  private static final String TOKEN = "header.payload.signature";
+  private static final UUID USER_ID = UUID.randomUUID();
+
+  private VerifiedTokenCache verifiedTokenCache;
+  private JwtExtractor jwtExtractor;
+  private JwtAuthenticationFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    verifiedTokenCache = mock(VerifiedTokenCache.class);
+    jwtExtractor = mock(JwtExtractor.class);
+    filter = new JwtAuthenticationFilter(verifiedTokenCache, jwtExtractor);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void doFilter_WithValidAccessToken_ShouldAuthenticate() throws Exception {
+    // Given
+    var request = new MockHttpServletRequest("GET", "/api/entries");
+    var token = new VerifiedToken(USER_ID, "test@example.com", null, null, Instant.now().plusSeconds(60));
+    when(jwtExtractor.extractToken(request)).thenReturn(Optional.of(TOKEN));
+    when(verifiedTokenCache.verify(TOKEN)).thenReturn(Optional.of(token));
+
+    // When
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+    // Then
+    var authentication = SecurityContextHolder.getContext().getAuthentication();
+    assertEquals(USER_ID, authentication.getPrincipal());
+    assertEquals(token, authentication.getDetails());
+  }
+
+  @Test
+  void doFilter_WithRefreshToken_ShouldNotAuthenticate() throws Exception {
+    // Given
+    var request = new MockHttpServletRequest("GET", "/api/entries");
+    var token = new VerifiedToken(USER_ID, "test@example.com", UUID.randomUUID(), UUID.randomUUID(), Instant.now().plusSeconds(60));
+    when(jwtExtractor.extractToken(request)).thenReturn(Optional.of(TOKEN));
+    when(verifiedTokenCache.verify(TOKEN)).thenReturn(Optional.of(token));
+
+    // When
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+    // Then
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+  }
+
+  @Test
+  void doFilter_OnPublicPath_ShouldSkipTokenHandling() throws Exception {
+    // Given
+    var request = new MockHttpServletRequest("POST", "/auth/login");
+    var chain = new MockFilterChain();
+
+    // When
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    // Then
+    assertNotNull(chain.getRequest());
+    verifyNoInteractions(jwtExtractor, verifiedTokenCache);
+  }
+
+  @Test
+  void doFilter_OnPreflight_ShouldSkipTokenHandling() throws Exception {
+    // Given
+    var request = new MockHttpServletRequest("OPTIONS", "/api/entries");
+    var chain = new MockFilterChain();
+
+    // When
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    // Then
+    assertNotNull(chain.getRequest());
+    verifyNoInteractions(jwtExtractor, verifiedTokenCache);
+  }
+}
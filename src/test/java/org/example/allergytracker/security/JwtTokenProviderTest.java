@@ -3,6 +3,7 @@ package org.example.allergytracker.security;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -42,64 +43,64 @@ class JwtTokenProviderTest {
   }
 
   @Test
-  void validateToken_WithValidToken_ShouldReturnTrue() {
+  void verify_WithValidToken_ShouldReturnToken() {
     // Given
     var token = jwtTokenProvider.generateAccessToken(TEST_USER_ID, TEST_EMAIL);
 
     // When
-    var isValid = jwtTokenProvider.validateToken(token);
+    var isValid = jwtTokenProvider.verify(token).isPresent();
 
     // Then
     assertTrue(isValid);
   }
 
   @Test
-  void validateToken_WithInvalidToken_ShouldReturnFalse() {
+  void verify_WithInvalidToken_ShouldReturnEmpty() {
     // Given
     var invalidToken = "invalid.token.here";
 
     // When
-    var isValid = jwtTokenProvider.validateToken(invalidToken);
+    var isValid = jwtTokenProvider.verify(invalidToken).isPresent();
 
     // Then
     assertFalse(isValid);
   }
 
   @Test
-  void validateToken_WithEmptyToken_ShouldReturnFalse() {
+  void verify_WithEmptyToken_ShouldReturnEmpty() {
     // When
-    var isValid = jwtTokenProvider.validateToken("");
+    var isValid = jwtTokenProvider.verify("").isPresent();
 
     // Then
     assertFalse(isValid);
   }
 
   @Test
-  void getUserIdFromToken_ShouldReturnCorrectUserId() {
+  void verify_ShouldReturnCorrectUserId() {
     // Given
     var token = jwtTokenProvider.generateAccessToken(TEST_USER_ID, TEST_EMAIL);
 
     // When
-    var userId = jwtTokenProvider.getUserIdFromToken(token);
+    var userId = jwtTokenProvider.verify(token).orElseThrow().userId();
 
     // Then
     assertEquals(TEST_USER_ID, userId);
   }
 
   @Test
-  void getEmailFromToken_ShouldReturnCorrectEmail() {
+  void verify_ShouldReturnCorrectEmail() {
     // Given
     var token = jwtTokenProvider.generateAccessToken(TEST_USER_ID, TEST_EMAIL);
 
     // When
-    var email = jwtTokenProvider.getEmailFromToken(token);
+    var email = jwtTokenProvider.verify(token).orElseThrow().email();
 
     // Then
     assertEquals(TEST_EMAIL, email);
   }
 
   @Test
-  void getUserIdFromToken_WithDifferentUserIds_ShouldReturnCorrectUserIds() {
+  void verify_WithDifferentUserIds_ShouldReturnCorrectUserIds() {
     // Given
     var userId1 = UUID.randomUUID();
     var userId2 = UUID.randomUUID();
@@ -107,8 +108,8 @@ class JwtTokenProviderTest {
     var token2 = jwtTokenProvider.generateAccessToken(userId2, "user2@example.com");
 
     // When
-    var extractedUserId1 = jwtTokenProvider.getUserIdFromToken(token1);
-    var extractedUserId2 = jwtTokenProvider.getUserIdFromToken(token2);
+    var extractedUserId1 = jwtTokenProvider.verify(token1).orElseThrow().userId();
+    var extractedUserId2 = jwtTokenProvider.verify(token2).orElseThrow().userId();
 
     // Then
     assertEquals(userId1, extractedUserId1);
@@ -127,7 +128,7 @@ class JwtTokenProviderTest {
     );
 
     // When
-    var isValid = differentProvider.validateToken(token);
+    var isValid = differentProvider.verify(token).isPresent();
 
     // Then
     assertFalse(isValid);
@@ -144,25 +145,95 @@ class JwtTokenProviderTest {
   }
 
   @Test
-  void validateToken_BothAccessAndRefreshTokens_ShouldBeValid() {
+  void verify_BothAccessAndRefreshTokens_ShouldBeValid() {
     // Given
     var accessToken = jwtTokenProvider.generateAccessToken(TEST_USER_ID, TEST_EMAIL);
     var refreshToken = jwtTokenProvider.generateRefreshToken(TEST_USER_ID, TEST_EMAIL);
 
     // When & Then
-    assertTrue(jwtTokenProvider.validateToken(accessToken));
-    assertTrue(jwtTokenProvider.validateToken(refreshToken));
+    assertTrue(jwtTokenProvider.verify(accessToken).isPresent());
+    assertTrue(jwtTokenProvider.verify(refreshToken).isPresent());
   }
 
   @Test
-  void getUserIdFromToken_FromRefreshToken_ShouldReturnCorrectUserId() {
+  void verify_FromRefreshToken_ShouldReturnCorrectUserId() {
     // Given
     var refreshToken = jwtTokenProvider.generateRefreshToken(TEST_USER_ID, TEST_EMAIL);
 
     // When
-    var userId = jwtTokenProvider.getUserIdFromToken(refreshToken);
+    var userId = jwtTokenProvider.verify(refreshToken).orElseThrow().userId();
 
     // Then
     assertEquals(TEST_USER_ID, userId);
   }
+
+  @Test
+  void verify_ShouldReturnClaimsFromSingleParse() {
+    // Given
+    var token = jwtTokenProvider.generateAccessToken(TEST_USER_ID, TEST_EMAIL);
+
+    // When
+    var verified = jwtTokenProvider.verify(token).orElseThrow();
+
+    // Then
+    assertEquals(TEST_USER_ID, verified.userId());
+    assertEquals(TEST_EMAIL, verified.email());
+    assertTrue(verified.expiresAt().isAfter(Instant.now()));
+  }
+
+  @Test
+  void verify_WithTamperedToken_ShouldReturnEmpty() {
+    // Given
+    var token = jwtTokenProvider.generateAccessToken(TEST_USER_ID, TEST_EMAIL);
+    var tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+    // When & Then
+    assertTrue(jwtTokenProvider.verify(tampered).isEmpty());
+  }
+
+  @Test
+  void generateRefreshToken_ShouldCarryUniqueIdAndFamily() {
+    // Given
+    var familyId = UUID.randomUUID();
+
+    // When
+    var first = jwtTokenProvider.verify(jwtTokenProvider.generateRefreshToken(TEST_USER_ID, TEST_EMAIL, familyId)).orElseThrow();
+    var second = jwtTokenProvider.verify(jwtTokenProvider.generateRefreshToken(TEST_USER_ID, TEST_EMAIL, familyId)).orElseThrow();
+
+    // Then
+    assertEquals(familyId, first.familyId());
+    assertEquals(familyId, second.familyId());
+    assertNotNull(first.tokenId());
+    assertNotEquals(first.tokenId(), second.tokenId());
+  }
+
+  @Test
+  void generateAccessToken_ShouldNotCarryRefreshClaims() {
+    // When
+    var verified = jwtTokenProvider.verify(jwtTokenProvider.generateAccessToken(TEST_USER_ID, TEST_EMAIL)).orElseThrow();
+
+    // Then
+    assertNull(verified.tokenId());
+    assertNull(verified.familyId());
+  }
+
+  @Test
+  void hasCompactJwsShape_ShouldAcceptIssuedTokens() {
+    // Given
+    var token = jwtTokenProvider.generateAccessToken(TEST_USER_ID, TEST_EMAIL);
+
+    // When & Then
+    assertTrue(JwtTokenProvider.hasCompactJwsShape(token));
+  }
+
+  @Test
+  void hasCompactJwsShape_ShouldRejectMalformedTokens() {
+    // When & Then
+    assertFalse(JwtTokenProvider.hasCompactJwsShape(null));
+    assertFalse(JwtTokenProvider.hasCompactJwsShape(""));
+    assertFalse(JwtTokenProvider.hasCompactJwsShape("header.payload"));
+    assertFalse(JwtTokenProvider.hasCompactJwsShape("a.b.c.d"));
+    assertFalse(JwtTokenProvider.hasCompactJwsShape("head er.payload.signature"));
+    assertFalse(JwtTokenProvider.hasCompactJwsShape("a".repeat(5000) + ".b.c"));
+  }
 }
@@ -0,0 +1,82 @@
+package org.example.allergytracker.security.jwt;
+
+import org.example.allergytracker.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class VerifiedTokenCacheTest {
+
+  private static final String TOKEN = "header.payload.signature";
+  private static final UUID USER_ID = UUID.randomUUID();
+
+  private JwtTokenProvider tokenProvider;
+  private VerifiedTokenCache verifiedTokenCache;
+
+  @BeforeEach
+  void setUp() {
+    tokenProvider = mock(JwtTokenProvider.class);
+    verifiedTokenCache = new VerifiedTokenCache(tokenProvider, 100);
+  }
+
+  @Test
+  void verify_ShouldParseTokenOnlyOnceWhileItIsValid() {
+    // Given
+    var verified = new VerifiedToken(USER_ID, "test@example.com", null, null, Instant.now().plusSeconds(60));
+    when(tokenProvider.verify(TOKEN)).thenReturn(Optional.of(verified));
+
+    // When
+    var first = verifiedTokenCache.verify(TOKEN);
+    var second = verifiedTokenCache.verify(TOKEN);
+
+    // Then
+    assertEquals(Optional.of(verified), first);
+    assertEquals(Optional.of(verified), second);
+    verify(tokenProvider, times(1)).verify(TOKEN);
+  }
+
+  @Test
+  void verify_ShouldRememberRejectedTokens() {
+    // Given
+    when(tokenProvider.verify(TOKEN)).thenReturn(Optional.empty());
+
+    // When
+    verifiedTokenCache.verify(TOKEN);
+    var result = verifiedTokenCache.verify(TOKEN);
+
+    // Then
+    assertTrue(result.isEmpty());
+    verify(tokenProvider, times(1)).verify(TOKEN);
+  }
+
+  @Test
+  void verify_ShouldRejectMalformedTokensWithoutParsing() {
+    // When
+    var result = verifiedTokenCache.verify("not a jwt");
+
+    // Then
+    assertTrue(result.isEmpty());
+    verifyNoInteractions(tokenProvider);
+  }
+
+  @Test
+  void verify_ShouldNotServeExpiredTokens() {
+    // Given
+    var expired = new VerifiedToken(USER_ID, "test@example.com", null, null, Instant.now().minusSeconds(1));
+    when(tokenProvider.verify(TOKEN)).thenReturn(Optional.of(expired)).thenReturn(Optional.empty());
+
+    // When
+    verifiedTokenCache.verify(TOKEN);
+    var result = verifiedTokenCache.verify(TOKEN);
+
+    // Then
+    assertTrue(result.isEmpty());
+    verify(tokenProvider, times(2)).verify(TOKEN);
+  }
+}
@@ -0,0 +1,92 @@
+package org.example.allergytracker.security.ratelimit;
+
+import org.example.allergytracker.exception.auth.TooManyLoginAttemptsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DefaultLoginRateLimiterTest {
+
+  private static final String EMAIL = "test@example.com";
+  private static final String IP = "203.0.113.7";
+  private static final int EMAIL_CAPACITY = 3;
+  private static final Duration EMAIL_REFILL_INTERVAL = Duration.ofSeconds(10);
+  private static final int IP_CAPACITY = 5;
+  private static final Duration IP_REFILL_INTERVAL = Duration.ofSeconds(1);
+
+  private final AtomicLong now = new AtomicLong();
+  private DefaultLoginRateLimiter rateLimiter;
+
+  @BeforeEach
+  void setUp() {
+    rateLimiter = new DefaultLoginRateLimiter(
+            EMAIL_CAPACITY, EMAIL_REFILL_INTERVAL, IP_CAPACITY, IP_REFILL_INTERVAL, 1000, now::get);
+  }
+
+  @Test
+  void acquire_ShouldAllowBurstUpToEmailCapacity() {
+    // When
+    for (int i = 0; i < EMAIL_CAPACITY; i++) {
+      rateLimiter.acquire(EMAIL, IP);
+    }
+
+    // Then
+    var exception = assertThrows(TooManyLoginAttemptsException.class, () -> rateLimiter.acquire(EMAIL, IP));
+    assertEquals(EMAIL_REFILL_INTERVAL, exception.getRetryAfter());
+  }
+
+  @Test
+  void acquire_ShouldRefillOverTime() {
+    // Given
+    for (int i = 0; i < EMAIL_CAPACITY; i++) {
+      rateLimiter.acquire(EMAIL, IP);
+    }
+
+    // When
+    now.addAndGet(EMAIL_REFILL_INTERVAL.toNanos());
+
+    // Then
+    assertDoesNotThrow(() -> rateLimiter.acquire(EMAIL, IP));
+    assertThrows(TooManyLoginAttemptsException.class, () -> rateLimiter.acquire(EMAIL, IP));
+  }
+
+  @Test
+  void acquire_ShouldLimitClientIpAcrossEmails() {
+    // When
+    for (int i = 0; i < IP_CAPACITY; i++) {
+      rateLimiter.acquire("user" + i + "@example.com", IP);
+    }
+
+    // Then
+    assertThrows(TooManyLoginAttemptsException.class, () -> rateLimiter.acquire("other@example.com", IP));
+    assertDoesNotThrow(() -> rateLimiter.acquire("other@example.com", "198.51.100.1"));
+  }
+
+  @Test
+  void acquire_ShouldNeverGrantMoreThanCapacityUnderContention() {
+    // Given
+    var granted = new AtomicInteger();
+
+    // When
+    var attempts = IntStream.range(0, 64)
+            .mapToObj(i -> CompletableFuture.runAsync(() -> {
+              try {
+                rateLimiter.acquire(EMAIL, "198.51.100." + i);
+                granted.incrementAndGet();
+              } catch (TooManyLoginAttemptsException ignored) {
+              }
+            }))
+            .toArray(CompletableFuture[]::new);
+    CompletableFuture.allOf(attempts).join();
+
+    // Then
+    assertEquals(EMAIL_CAPACITY, granted.get());
+  }
+}